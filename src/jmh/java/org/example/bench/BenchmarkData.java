@@ -0,0 +1,27 @@
+package org.example.bench;
+
+import org.example.data.Trajectory;
+
+/**
+ * 基准测试用的合成轨迹
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    /** Underdamped second-order step response to a setpoint of 5, sampled every {@code dt}. */
+    static Trajectory stepResponse(int samples, double dt) {
+        Trajectory trajectory = new Trajectory(samples);
+        double wn = 2.0;
+        double zeta = 0.4;
+        double wd = wn * Math.sqrt(1 - zeta * zeta);
+        for (int i = 0; i < samples; i++) {
+            double t = (i + 1) * dt;
+            double pv = 5.0 * (1 - Math.exp(-zeta * wn * t)
+                    * (Math.cos(wd * t) + zeta / Math.sqrt(1 - zeta * zeta) * Math.sin(wd * t)));
+            trajectory.add(t, pv, 5.0, 0.0);
+        }
+        return trajectory;
+    }
+}
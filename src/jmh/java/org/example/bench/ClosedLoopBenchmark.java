@@ -0,0 +1,118 @@
+package org.example.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.example.algorithm.PIDController;
+import org.example.analysis.FastResponseEvaluator;
+import org.example.plant.FirstOrderPlant;
+import org.example.sim.SetpointProfile;
+import org.example.sim.SimulationEngine;
+import org.example.sim.SimulationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 闭环单步开销: 手写循环一步, 以及经 SimulationEngine 运行时平摊到每步的开销;
+ * 对照 FastResponseEvaluator 按传递函数计算同一响应时平摊到每步的开销
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g", "-Djava.awt.headless=true" })
+@State(Scope.Thread)
+public class ClosedLoopBenchmark {
+    private static final double DT = 0.05;
+    private static final int ENGINE_STEPS = 10_000;
+    private static final double TOLERANCE = 1e-9;
+
+    private FirstOrderPlant plant;
+    private PIDController pid;
+    private SimulationEngine engine;
+    private FastResponseEvaluator fast;
+    private Map<String, Double> gains;
+    private double time;
+
+    @Setup
+    public void setup() {
+        plant = new FirstOrderPlant(1.0, 1.0, DT);
+        pid = new PIDController();
+        gains = Map.of("Kp", 2.0, "Ki", 0.5, "Kd", 0.05);
+        pid.setParameters(gains);
+        fast = new FastResponseEvaluator(plant, DT, ENGINE_STEPS * DT);
+        engine = new SimulationEngine(DT);
+        engine.setRecordTrajectory(false);
+        verifyFastEvaluation();
+    }
+
+    /**
+     * The transfer-function path must reproduce the simulation it replaces, for a step and a sine.
+     */
+    private void verifyFastEvaluation() {
+        for (SetpointProfile profile : new SetpointProfile[] { SetpointProfile.step(5.0),
+                SetpointProfile.sine(1.0, 0.2, 5.0) }) {
+            plant.reset();
+            pid.reset();
+            SimulationResult simulated = engine.run(plant, pid, profile, ENGINE_STEPS * DT);
+            SimulationResult computed = fast.evaluate(gains, profile, 1e3);
+            checkClose("IAE", computed.metrics().iae(), simulated.metrics().iae());
+            checkClose("overshoot", computed.metrics().overshoot(), simulated.metrics().overshoot());
+            checkClose("rise time", computed.metrics().riseTime(), simulated.metrics().riseTime());
+            checkClose("settling time", computed.metrics().settlingTime(), simulated.metrics().settlingTime());
+            checkClose("control effort", computed.controlEffort(), simulated.controlEffort());
+        }
+        plant.reset();
+        pid.reset();
+    }
+
+    private static void checkClose(String what, double computed, double simulated) {
+        if (Math.abs(computed - simulated) > TOLERANCE * Math.max(1.0, Math.abs(simulated))) {
+            throw new IllegalStateException(
+                    "FastResponseEvaluator " + what + " " + computed + " differs from SimulationEngine " + simulated);
+        }
+    }
+
+    @Benchmark
+    public double step() {
+        time += DT;
+        double output = pid.calculate(5.0, plant.getState(), time);
+        return plant.update(output);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENGINE_STEPS)
+    public SimulationResult engineStep() {
+        plant.reset();
+        pid.reset();
+        return engine.run(plant, pid, SetpointProfile.step(5.0), ENGINE_STEPS * DT);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENGINE_STEPS)
+    public SimulationResult engineStepRecording() {
+        plant.reset();
+        pid.reset();
+        engine.setRecordTrajectory(true);
+        try {
+            return engine.run(plant, pid, SetpointProfile.step(5.0), ENGINE_STEPS * DT);
+        } finally {
+            engine.setRecordTrajectory(false);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENGINE_STEPS)
+    public SimulationResult fastEvaluation() {
+        return fast.evaluate(gains, SetpointProfile.step(5.0), 1e3);
+    }
+}
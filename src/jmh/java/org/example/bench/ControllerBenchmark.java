@@ -0,0 +1,57 @@
+package org.example.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.example.algorithm.PIDController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * PIDController.calculate 在正常模式与继电器自整定模式下的单次调用开销
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g", "-Djava.awt.headless=true" })
+@State(Scope.Thread)
+public class ControllerBenchmark {
+    private static final double DT = 0.05;
+
+    private PIDController pid;
+    private PIDController tuner;
+    private double time;
+
+    @Setup
+    public void setup() {
+        pid = new PIDController();
+        pid.setParameters(Map.of("Kp", 2.0, "Ki", 0.5, "Kd", 0.05));
+        tuner = new PIDController();
+        tuner.startAutoTune(5.0, PIDController.TuningRule.NO_OVERSHOOT);
+    }
+
+    @Benchmark
+    public double calculate() {
+        time += DT;
+        return pid.calculate(5.0, 5.0 + Math.sin(time), time);
+    }
+
+    /** The process value oscillates around the setpoint, so the relay sees regular crossings. */
+    @Benchmark
+    public double calculateAutoTune() {
+        time += DT;
+        if (!tuner.isAutoTuning()) {
+            tuner.startAutoTune(5.0, PIDController.TuningRule.NO_OVERSHOOT);
+        }
+        return tuner.calculate(5.0, 5.0 + Math.sin(time), time);
+    }
+}
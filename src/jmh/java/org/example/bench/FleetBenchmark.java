@@ -0,0 +1,111 @@
+package org.example.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.example.algorithm.BatchPIDController;
+import org.example.algorithm.PIDController;
+import org.example.plant.BatchFirstOrderPlant;
+import org.example.plant.FirstOrderPlant;
+import org.example.sim.FleetSimulation;
+import org.example.sim.SetpointProfile;
+import org.example.sim.SimulationEngine;
+import org.example.sim.SimulationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 批量闭环: FleetSimulation 一次推进 N 个回路, 对照 N 个 SimulationEngine 标量回路逐个运行
+ * 启动时先核对每个批量回路的 IAE 和终值与标量回路一致, 不一致则拒绝运行
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g", "-Djava.awt.headless=true" })
+@State(Scope.Thread)
+public class FleetBenchmark {
+    private static final double DT = 0.05;
+    private static final double DURATION = 10.0;
+    private static final double SETPOINT = 5.0;
+    // The batch plant precomputes dt/T, so lanes may differ from the scalar plant in the last bits
+    private static final double TOLERANCE = 1e-9;
+
+    @Param({ "1000" })
+    private int loops;
+
+    private FleetSimulation fleet;
+    private FirstOrderPlant[] plants;
+    private PIDController[] pids;
+    private SimulationEngine engine;
+
+    @Setup
+    public void setup() {
+        double[] t = new double[loops];
+        double[] k = new double[loops];
+        double[] kp = new double[loops];
+        double[] ki = new double[loops];
+        double[] kd = new double[loops];
+        plants = new FirstOrderPlant[loops];
+        pids = new PIDController[loops];
+        for (int i = 0; i < loops; i++) {
+            double spread = (double) i / loops;
+            t[i] = 0.5 + 2.0 * spread;
+            k[i] = 0.8 + 0.4 * spread;
+            kp[i] = 1.0 + 2.0 * spread;
+            ki[i] = 0.2 + 0.6 * spread;
+            kd[i] = 0.05 * spread;
+            plants[i] = new FirstOrderPlant(t[i], k[i], DT);
+            pids[i] = new PIDController();
+            pids[i].setParameters(Map.of("Kp", kp[i], "Ki", ki[i], "Kd", kd[i]));
+        }
+        fleet = new FleetSimulation(new BatchFirstOrderPlant(t, k, DT), new BatchPIDController(kp, ki, kd, DT));
+        engine = new SimulationEngine(DT);
+        engine.setRecordTrajectory(false);
+        verifyLanes();
+    }
+
+    private void verifyLanes() {
+        FleetSimulation.Result batch = fleet.runStep(SETPOINT, DURATION);
+        for (int i = 0; i < loops; i++) {
+            SimulationResult scalar = runScalar(i);
+            checkClose("IAE", i, batch.iae()[i], scalar.metrics().iae());
+            checkClose("final PV", i, batch.finalPv()[i], plants[i].getState());
+        }
+    }
+
+    private static void checkClose(String what, int lane, double batch, double scalar) {
+        if (Math.abs(batch - scalar) > TOLERANCE * Math.max(1.0, Math.abs(scalar))) {
+            throw new IllegalStateException(
+                    "Fleet lane " + lane + " " + what + " " + batch + " differs from SimulationEngine " + scalar);
+        }
+    }
+
+    private SimulationResult runScalar(int i) {
+        plants[i].reset();
+        pids[i].reset();
+        return engine.run(plants[i], pids[i], SetpointProfile.step(SETPOINT), DURATION);
+    }
+
+    @Benchmark
+    public FleetSimulation.Result fleet() {
+        return fleet.runStep(SETPOINT, DURATION);
+    }
+
+    @Benchmark
+    public void scalarLoops(Blackhole bh) {
+        for (int i = 0; i < loops; i++) {
+            bh.consume(runScalar(i));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.example.data.PerformanceMetrics;
+import org.example.data.PerformanceMetricsCalculator;
+import org.example.data.Trajectory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * PerformanceMetricsCalculator.calculate 随轨迹长度的开销
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g", "-Djava.awt.headless=true" })
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    @Param({ "10000", "100000", "1000000", "10000000" })
+    public int samples;
+
+    private Trajectory trajectory;
+
+    @Setup
+    public void setup() {
+        trajectory = BenchmarkData.stepResponse(samples, 0.05);
+    }
+
+    @Benchmark
+    public PerformanceMetrics calculate() {
+        return PerformanceMetricsCalculator.calculate(trajectory, 0.0, 5.0);
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.example.plant.FirstOrderPlant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * FirstOrderPlant.update 的单步开销
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g", "-Djava.awt.headless=true" })
+@State(Scope.Thread)
+public class PlantBenchmark {
+    private FirstOrderPlant plant;
+    private double input;
+
+    @Setup
+    public void setup() {
+        plant = new FirstOrderPlant(1.0, 1.0, 0.05);
+    }
+
+    @Benchmark
+    public double firstOrderUpdate() {
+        // Alternate the input so the state stays bounded and the loop cannot be folded
+        input = input > 0 ? -1.0 : 1.0;
+        return plant.update(input);
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.example.data.Trajectory;
+import org.example.analysis.WelchSpectrumEstimator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 频域分析: 对整段记录做 Welch 功率谱估计 (段长 1024, Hann 窗, 50% 重叠)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g", "-Djava.awt.headless=true" })
+@State(Scope.Benchmark)
+public class SpectrumBenchmark {
+
+    @Param({ "5000", "100000", "1500000" })
+    public int samples;
+
+    private Trajectory trajectory;
+
+    @Setup
+    public void setup() {
+        trajectory = BenchmarkData.stepResponse(samples, 0.05);
+    }
+
+    @Benchmark
+    public WelchSpectrumEstimator welchEstimate() {
+        return WelchSpectrumEstimator.of(trajectory, 1024, 20.0);
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.algorithm;
+
+/**
+ * 继电器自整定结果
+ * 失败时 Ku / Tu 与增益均为 NaN。
+ */
+public record AutoTuneResult(
+        boolean success,
+        String message,
+        PIDController.TuningRule rule,
+        double ultimateGain, // Ku
+        double ultimatePeriod, // Tu (s)
+        double kp,
+        double ki,
+        double kd) {
+
+    public static AutoTuneResult failed(PIDController.TuningRule rule, String message) {
+        return new AutoTuneResult(false, message, rule, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * 批量 PID 控制器 (结构数组形式)
+ * 与 {@link PIDController} 的常规模式使用相同的离散公式, 每个回路的增益和内部状态存放在连续数组中。
+ * 不支持自整定。
+ */
+public class BatchPIDController {
+    private final double[] kp;
+    private final double[] ki;
+    private final double[] kd;
+    private final double[] integral;
+    private final double[] previousError;
+    private final double dt;
+
+    public BatchPIDController(double[] kp, double[] ki, double[] kd, double dt) {
+        if (kp.length != ki.length || kp.length != kd.length) {
+            throw new IllegalArgumentException("Gain arrays differ in length");
+        }
+        this.kp = kp.clone();
+        this.ki = ki.clone();
+        this.kd = kd.clone();
+        this.integral = new double[kp.length];
+        this.previousError = new double[kp.length];
+        this.dt = dt;
+    }
+
+    /**
+     * Computes one output per loop for a common setpoint.
+     *
+     * @param setpoint the desired value shared by all loops
+     * @param pv       one measured value per loop
+     * @param out      receives one control output per loop
+     */
+    public void calculate(double setpoint, double[] pv, double[] out) {
+        int n = kp.length;
+        double invDt = 1.0 / dt;
+        for (int i = 0; i < n; i++) {
+            double error = setpoint - pv[i];
+            integral[i] += error * dt;
+            double derivative = (error - previousError[i]) * invDt;
+            previousError[i] = error;
+            out[i] = kp[i] * error + ki[i] * integral[i] + kd[i] * derivative;
+        }
+    }
+
+    /**
+     * Computes one output per loop, each with its own setpoint.
+     */
+    public void calculate(double[] setpoint, double[] pv, double[] out) {
+        int n = kp.length;
+        double invDt = 1.0 / dt;
+        for (int i = 0; i < n; i++) {
+            double error = setpoint[i] - pv[i];
+            integral[i] += error * dt;
+            double derivative = (error - previousError[i]) * invDt;
+            previousError[i] = error;
+            out[i] = kp[i] * error + ki[i] * integral[i] + kd[i] * derivative;
+        }
+    }
+
+    public int size() {
+        return kp.length;
+    }
+
+    public void reset() {
+        Arrays.fill(integral, 0.0);
+        Arrays.fill(previousError, 0.0);
+    }
+}
@@ -16,6 +16,13 @@ public interface ControlAlgorithm {
 
     void reset();
 
+    /**
+     * Sets the interval between successive {@link #calculate} calls, in seconds.
+     * Algorithms without discrete-time state can ignore it.
+     */
+    default void setSampleTime(double sampleTime) {
+    }
+
     String getDisplayName();
 
     String[] getParameterNames();
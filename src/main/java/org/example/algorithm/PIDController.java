@@ -1,11 +1,9 @@
 package org.example.algorithm;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
-import javax.swing.JOptionPane;
-import javax.swing.SwingUtilities;
+import org.example.monitor.AutoTuneResultEvent;
 
 public class PIDController implements ControlAlgorithm {
     public enum TuningRule {
@@ -36,23 +34,26 @@ public class PIDController implements ControlAlgorithm {
     private double dt = 0.05;
 
     // Auto-Tuning State
-    private boolean autoTuning = false;
-    private double tuneSetpoint;
-    private double relayOutputAmplitude = 80.0;
-    private double hysteresis = 0.5;
-    private double currentOutput;
-    private List<Double> peakAmplitudes = new ArrayList<>();
-    private List<Double> peakTimes = new ArrayList<>();
-    private double lastPeakTime = 0;
-    private double lastProcessValue = Double.NaN;
-    private int cycleCount = 0;
-    private static final int REQUIRED_CYCLES = 3;
-    private Runnable autoTuneListener;
-    private TuningRule selectedTuneRule = TuningRule.NO_OVERSHOOT; // Default rule
+    private final RelayAutoTuner autoTuner = new RelayAutoTuner();
+    private volatile boolean autoTuning = false;
+    private Consumer<AutoTuneResult> autoTuneListener;
+    private AutoTuneResult lastAutoTuneResult;
 
     public PIDController() {
     }
 
+    @Override
+    public void setSampleTime(double sampleTime) {
+        if (!(sampleTime > 0)) {
+            throw new IllegalArgumentException("Sample time must be positive: " + sampleTime);
+        }
+        this.dt = sampleTime;
+    }
+
+    public double getSampleTime() {
+        return dt;
+    }
+
     @Override
     public String getDisplayName() {
         return "PID Controller";
@@ -64,14 +65,17 @@ public class PIDController implements ControlAlgorithm {
             return calculatePidOutput(setpoint, pv);
         }
 
-        autoTuneStep(pv, currentTime);
-
-        if (cycleCount >= REQUIRED_CYCLES * 2) {
-            calculateAndApplyTuning();
+        double relayOutput = autoTuner.step(pv, currentTime);
+        if (autoTuner.isComplete()) {
+            AutoTuneResultEvent event = new AutoTuneResultEvent();
+            event.begin();
+            AutoTuneResult result = autoTuner.finish();
+            event.end();
+            commitResultEvent(event, result);
+            finishAutoTune(result);
             return calculatePidOutput(setpoint, pv); // Start using new params immediately
-        } else {
-            return currentOutput;
         }
+        return relayOutput;
     }
 
     private double calculatePidOutput(double setpoint, double pv) {
@@ -82,110 +86,71 @@ public class PIDController implements ControlAlgorithm {
         return (Kp * error) + (Ki * this.integral) + (Kd * derivative);
     }
 
-    private void autoTuneStep(double pv, double currentTime) {
-        if (Double.isNaN(lastProcessValue)) {
-            lastProcessValue = pv;
-            lastPeakTime = currentTime;
-            return;
-        }
-
-        double error = tuneSetpoint - pv;
-        if (error > hysteresis) {
-            currentOutput = relayOutputAmplitude;
-        } else if (error < -hysteresis) {
-            currentOutput = -relayOutputAmplitude;
-        }
-
-        boolean crossedSetpoint = (lastProcessValue - tuneSetpoint) * (pv - tuneSetpoint) < 0;
+    public void startAutoTune(double setpoint, TuningRule rule) {
+        reset();
+        this.autoTuning = true;
+        this.lastAutoTuneResult = null;
+        autoTuner.start(setpoint, rule);
+    }
 
-        if (crossedSetpoint) {
-            if (lastPeakTime > 0) {
-                double halfPeriod = currentTime - lastPeakTime;
-                peakTimes.add(halfPeriod);
-                peakAmplitudes.add(Math.abs(lastProcessValue - tuneSetpoint));
-                cycleCount++;
-            }
-            lastPeakTime = currentTime;
+    /**
+     * Ends a running auto-tune without changing the gains and reports {@code message} as a failure.
+     */
+    public void abortAutoTune(String message) {
+        if (this.autoTuning) {
+            AutoTuneResult result = autoTuner.abort(message);
+            commitResultEvent(new AutoTuneResultEvent(), result);
+            finishAutoTune(result);
         }
-        lastProcessValue = pv;
     }
 
-    // --- MODIFIED: Use a switch statement for clarity ---
-    private void calculateAndApplyTuning() {
-        if (peakTimes.size() < REQUIRED_CYCLES * 2) {
-            finishAutoTune(false, "Auto-tune failed: Not enough oscillation cycles detected.");
-            return;
+    private void commitResultEvent(AutoTuneResultEvent event, AutoTuneResult result) {
+        if (event.shouldCommit()) {
+            event.success = result.success();
+            event.rule = String.valueOf(result.rule());
+            event.halfCycles = autoTuner.getHalfCycles();
+            event.ultimateGain = result.ultimateGain();
+            event.ultimatePeriod = result.ultimatePeriod();
+            event.kp = result.kp();
+            event.ki = result.ki();
+            event.kd = result.kd();
+            event.message = result.message();
+            event.commit();
         }
+    }
 
-        double avgPeriod = peakTimes.stream().mapToDouble(t -> t).average().orElse(0) * 2.0;
-        double avgAmplitude = peakAmplitudes.stream().mapToDouble(a -> a).average().orElse(0);
-
-        if (avgAmplitude <= 0 || avgPeriod <= 0) {
-            finishAutoTune(false, "Auto-tune failed: Invalid oscillation data.");
-            return;
+    private void finishAutoTune(AutoTuneResult result) {
+        this.autoTuning = false;
+        this.lastAutoTuneResult = result;
+        if (result.success()) {
+            this.Kp = result.kp();
+            this.Ki = result.ki();
+            this.Kd = result.kd();
         }
-
-        double Ku = (4.0 * relayOutputAmplitude) / (Math.PI * avgAmplitude);
-        double Tu = avgPeriod;
-
-        // --- NEW: Apply the selected tuning rule ---
-        switch (selectedTuneRule) {
-            case CLASSIC_ZN:
-                this.Kp = 0.6 * Ku;
-                this.Ki = (1.2 * Ku) / Tu;
-                this.Kd = (0.6 * Ku * Tu) / 8.0;
-                break;
-            case SOME_OVERSHOOT:
-                this.Kp = 0.33 * Ku;
-                this.Ki = (0.66 * Ku) / Tu;
-                this.Kd = (0.33 * Ku * Tu) / 8.0;
-                break;
-            case NO_OVERSHOOT:
-            default: // Fallback to the safest option
-                this.Kp = 0.2 * Ku;
-                this.Ki = (0.4 * Ku) / Tu;
-                this.Kd = (0.2 * Ku * Tu) / 8.0;
-                break;
+        if (autoTuneListener != null) {
+            autoTuneListener.accept(result);
         }
-
-        String successMessage = String.format(
-                "Auto-tuning successful! Rule: %s Ku=%.2f, Tu=%.2f New Params: Kp=%.2f, Ki=%.2f, Kd=%.2f",
-                selectedTuneRule, Ku, Tu, this.Kp, this.Ki, this.Kd);
-        finishAutoTune(true, successMessage);
     }
 
-    // --- MODIFIED: Accept a TuningRule as a parameter ---
-    public void startAutoTune(double setpoint, TuningRule rule) {
-        reset();
-        this.autoTuning = true;
-        this.tuneSetpoint = setpoint;
-        this.selectedTuneRule = rule; // Store the chosen rule
-
-        this.peakAmplitudes.clear();
-        this.peakTimes.clear();
-        this.lastPeakTime = 0;
-        this.cycleCount = 0;
-        this.lastProcessValue = Double.NaN;
-        this.currentOutput = relayOutputAmplitude;
+    /**
+     * Receives the outcome of every auto-tune, on the thread that drives {@link #calculate}.
+     */
+    public void setAutoTuneListener(Consumer<AutoTuneResult> listener) {
+        this.autoTuneListener = listener;
     }
 
-    private void finishAutoTune(boolean success, String message) {
-        this.autoTuning = false;
-        if (autoTuneListener != null) {
-            autoTuneListener.run();
-        }
-        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null, message, "Auto-Tune Result",
-                success ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.ERROR_MESSAGE));
+    public AutoTuneResult getLastAutoTuneResult() {
+        return lastAutoTuneResult;
     }
 
-    public void setAutoTuneListener(Runnable listener) {
-        this.autoTuneListener = listener;
+    public RelayAutoTuner getAutoTuner() {
+        return autoTuner;
     }
 
     @Override
     public void reset() {
         if (this.autoTuning) {
-            finishAutoTune(false, "Tuning process was manually reset.");
+            abortAutoTune("Tuning process was manually reset.");
         }
         this.integral = 0;
         this.previousError = 0;
@@ -194,7 +159,8 @@ public class PIDController implements ControlAlgorithm {
     public String getAutoTuneStatus() {
         if (!autoTuning)
             return "Not in Auto-Tune";
-        return String.format("Tuning (%s)... Cycle %d of %d", selectedTuneRule, (cycleCount / 2) + 1, REQUIRED_CYCLES);
+        return String.format("Tuning (%s)... Cycle %d of %d", autoTuner.getRule(), autoTuner.getCurrentCycle(),
+                RelayAutoTuner.REQUIRED_CYCLES);
     }
 
     @Override
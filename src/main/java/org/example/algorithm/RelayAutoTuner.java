@@ -0,0 +1,172 @@
+package org.example.algorithm;
+
+import org.example.monitor.AutoTuneCycleEvent;
+
+/**
+ * 继电器反馈自整定实验 (Åström–Hägglund)
+ * 以带滞环的继电器驱动对象产生极限环, 由半周期与峰值偏差的累加和估计 Ku 与 Tu。
+ * step() 只更新基本类型字段, 不分配对象; 与 Swing 无关, 可在任意线程上运行。
+ */
+public final class RelayAutoTuner {
+    public static final int REQUIRED_CYCLES = 3;
+
+    private double relayAmplitude = 80.0;
+    private double hysteresis = 0.5;
+
+    private PIDController.TuningRule rule = PIDController.TuningRule.NO_OVERSHOOT;
+    private double setpoint;
+    private double output;
+    private double lastPv = Double.NaN;
+    private double lastCrossingTime;
+    private boolean crossedOnce;
+    private double peakDeviation;
+    private double halfPeriodSum;
+    private double amplitudeSum;
+    private int halfCycles;
+    private double previousHalfPeriod;
+    private double previousPeak;
+    private boolean active;
+
+    public void setRelayAmplitude(double relayAmplitude) {
+        this.relayAmplitude = relayAmplitude;
+    }
+
+    public double getRelayAmplitude() {
+        return relayAmplitude;
+    }
+
+    public void setHysteresis(double hysteresis) {
+        this.hysteresis = hysteresis;
+    }
+
+    public void start(double setpoint, PIDController.TuningRule rule) {
+        this.setpoint = setpoint;
+        this.rule = rule;
+        this.output = relayAmplitude;
+        this.lastPv = Double.NaN;
+        this.lastCrossingTime = 0;
+        this.crossedOnce = false;
+        this.peakDeviation = 0;
+        this.halfPeriodSum = 0;
+        this.amplitudeSum = 0;
+        this.halfCycles = 0;
+        this.previousHalfPeriod = 0;
+        this.previousPeak = 0;
+        this.active = true;
+    }
+
+    /**
+     * Advances the experiment by one sample and returns the relay output to apply.
+     */
+    public double step(double pv, double time) {
+        if (Double.isNaN(lastPv)) {
+            lastPv = pv;
+            return output;
+        }
+
+        double error = setpoint - pv;
+        if (error > hysteresis) {
+            output = relayAmplitude;
+        } else if (error < -hysteresis) {
+            output = -relayAmplitude;
+        }
+
+        peakDeviation = Math.max(peakDeviation, Math.abs(pv - setpoint));
+        if ((lastPv - setpoint) * (pv - setpoint) < 0) {
+            // The first crossing only ends the initial transient
+            if (crossedOnce) {
+                double halfPeriod = time - lastCrossingTime;
+                halfPeriodSum += halfPeriod;
+                amplitudeSum += peakDeviation;
+                halfCycles++;
+                if (halfCycles % 2 == 0) {
+                    AutoTuneCycleEvent event = new AutoTuneCycleEvent();
+                    if (event.shouldCommit()) {
+                        event.cycle = halfCycles / 2;
+                        event.period = previousHalfPeriod + halfPeriod;
+                        event.amplitude = 0.5 * (previousPeak + peakDeviation);
+                        event.simulationTime = time;
+                        event.commit();
+                    }
+                }
+                previousHalfPeriod = halfPeriod;
+                previousPeak = peakDeviation;
+            }
+            crossedOnce = true;
+            lastCrossingTime = time;
+            peakDeviation = 0;
+        }
+        lastPv = pv;
+        return output;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /** True once enough half cycles have been observed to compute a result. */
+    public boolean isComplete() {
+        return halfCycles >= REQUIRED_CYCLES * 2;
+    }
+
+    /** Completed cycle index for status display, starting at 1. */
+    public int getCurrentCycle() {
+        return Math.min(halfCycles / 2 + 1, REQUIRED_CYCLES);
+    }
+
+    public int getHalfCycles() {
+        return halfCycles;
+    }
+
+    public PIDController.TuningRule getRule() {
+        return rule;
+    }
+
+    /**
+     * Ends the experiment and computes Ku, Tu and the gains of the selected rule.
+     */
+    public AutoTuneResult finish() {
+        active = false;
+        if (!isComplete()) {
+            return AutoTuneResult.failed(rule, "Auto-tune failed: Not enough oscillation cycles detected.");
+        }
+        double tu = halfPeriodSum / halfCycles * 2.0;
+        double amplitude = amplitudeSum / halfCycles;
+        if (amplitude <= 0 || tu <= 0) {
+            return AutoTuneResult.failed(rule, "Auto-tune failed: Invalid oscillation data.");
+        }
+
+        double ku = (4.0 * relayAmplitude) / (Math.PI * amplitude);
+        double kp;
+        double ki;
+        double kd;
+        switch (rule) {
+            case CLASSIC_ZN:
+                kp = 0.6 * ku;
+                ki = (1.2 * ku) / tu;
+                kd = (0.6 * ku * tu) / 8.0;
+                break;
+            case SOME_OVERSHOOT:
+                kp = 0.33 * ku;
+                ki = (0.66 * ku) / tu;
+                kd = (0.33 * ku * tu) / 8.0;
+                break;
+            case NO_OVERSHOOT:
+            default: // Fallback to the safest option
+                kp = 0.2 * ku;
+                ki = (0.4 * ku) / tu;
+                kd = (0.2 * ku * tu) / 8.0;
+                break;
+        }
+        String message = String.format(
+                "Auto-tuning successful! Rule: %s Ku=%.2f, Tu=%.2f New Params: Kp=%.2f, Ki=%.2f, Kd=%.2f",
+                rule, ku, tu, kp, ki, kd);
+        return new AutoTuneResult(true, message, rule, ku, tu, kp, ki, kd);
+    }
+
+    /** Ends the experiment without a result, e.g. on reset or timeout. */
+    public AutoTuneResult abort(String message) {
+        active = false;
+        return AutoTuneResult.failed(rule, message);
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.analysis;
+
+import java.util.SplittableRandom;
+
+/**
+ * 不确定参数的概率分布
+ */
+@FunctionalInterface
+public interface Distribution {
+
+    double sample(SplittableRandom random);
+
+    static Distribution fixed(double value) {
+        return random -> value;
+    }
+
+    static Distribution uniform(double min, double max) {
+        if (max < min) {
+            throw new IllegalArgumentException("Uniform distribution needs min <= max");
+        }
+        return random -> min == max ? min : random.nextDouble(min, max);
+    }
+
+    /** Uniform within ±{@code fraction} of {@code nominal}, e.g. 0.2 for ±20%. */
+    static Distribution relativeUniform(double nominal, double fraction) {
+        double spread = Math.abs(nominal * fraction);
+        return uniform(nominal - spread, nominal + spread);
+    }
+
+    static Distribution normal(double mean, double stdDev) {
+        if (stdDev < 0) {
+            throw new IllegalArgumentException("Standard deviation must be non-negative");
+        }
+        return random -> mean + stdDev * random.nextGaussian();
+    }
+
+    /** Log-normal with the given median, for strictly positive quantities such as time constants. */
+    static Distribution logNormal(double median, double sigma) {
+        if (median <= 0 || sigma < 0) {
+            throw new IllegalArgumentException("Log-normal distribution needs median > 0 and sigma >= 0");
+        }
+        return random -> median * Math.exp(sigma * random.nextGaussian());
+    }
+}
@@ -0,0 +1,256 @@
+package org.example.analysis;
+
+import java.util.Map;
+
+import org.example.algorithm.ControlAlgorithm;
+import org.example.algorithm.PIDController;
+import org.example.data.MetricsAccumulator;
+import org.example.data.Trajectory;
+import org.example.plant.LinearPlant;
+import org.example.plant.Plant;
+import org.example.plant.PulseTransferFunction;
+import org.example.sim.AbortCondition;
+import org.example.sim.SetpointProfile;
+import org.example.sim.SimulationResult;
+
+/**
+ * 线性闭环的快速响应计算 (不逐步调用 calculate / update)
+ * 被控对象的脉冲传递函数 P/Q 在构造时取得一次; 每个候选参数只需把离散 PID
+ * C = Cn / (1 - z⁻¹) 代入, 得到闭环 T = P Cn / (Q (1 - z⁻¹) + z⁻¹ P Cn),
+ * 用稀疏差分方程算出一次闭环脉冲响应, 再由它得到阶跃 / 斜坡 (前缀和) 和任意设定值 (FFT 卷积) 的响应。
+ * 与 {@link org.example.sim.SimulationEngine} 在控制器每步执行、对象从零状态出发时的结果逐点一致。
+ * 实例不可变, 可在多个线程间共享。
+ */
+public final class FastResponseEvaluator {
+    private final double dt;
+    private final int steps;
+    private final double[] plantNumerator;
+    private final double[] plantDenominator;
+    private final Radix2Fft fft;
+
+    /**
+     * @param plant    linear plant at rest, built with step size {@code dt}
+     * @param dt       simulation step, also the controller sample time
+     * @param duration response length in seconds
+     */
+    public FastResponseEvaluator(LinearPlant plant, double dt, double duration) {
+        if (!plant.isLinear()) {
+            throw new IllegalArgumentException(plant.getName() + " has no transfer function");
+        }
+        if (!(dt > 0) || !(duration > 0)) {
+            throw new IllegalArgumentException("Step size and duration must be positive");
+        }
+        PulseTransferFunction model = plant.pulseTransferFunction();
+        this.dt = dt;
+        this.steps = (int) Math.ceil(duration / dt - 1e-9);
+        this.plantNumerator = model.numerator();
+        this.plantDenominator = model.denominator();
+        // Linear (not circular) convolution of two length-N sequences needs at least 2N - 1 points
+        this.fft = new Radix2Fft(Math.max(2, Integer.highestOneBit(2 * steps - 1) << 1));
+    }
+
+    /**
+     * True when the loop formed by {@code plant} and {@code algorithm} is linear and this class applies.
+     */
+    public static boolean supports(Plant plant, ControlAlgorithm algorithm) {
+        return plant instanceof LinearPlant && ((LinearPlant) plant).isLinear()
+                && algorithm instanceof PIDController && !algorithm.isAutoTuning();
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+    public double getDt() {
+        return dt;
+    }
+
+    /**
+     * Closed-loop response of the PV to a unit setpoint pulse at the first step; element k is the
+     * PV after step k + 1.
+     */
+    public double[] impulseResponse(double kp, double ki, double kd) {
+        // (Kp + Kd/dt (1 - z^-1)) (1 - z^-1) + Ki dt
+        double[] cn = { kp + kd / dt + ki * dt, -kp - 2.0 * kd / dt, kd / dt };
+        double[] forward = PulseTransferFunction.multiply(plantNumerator, cn);
+        double[] loop = PulseTransferFunction.multiply(plantDenominator, new double[] { 1.0, -1.0 });
+        double[] denominator = new double[Math.max(loop.length, forward.length + 1)];
+        System.arraycopy(loop, 0, denominator, 0, loop.length);
+        for (int i = 0; i < forward.length; i++) {
+            denominator[i + 1] += forward[i];
+        }
+
+        int[] denominatorIndex = nonZeroIndices(denominator, 1);
+        double[] response = new double[steps];
+        for (int k = 0; k < steps; k++) {
+            double y = k < forward.length ? forward[k] : 0.0;
+            for (int j : denominatorIndex) {
+                if (j > k) {
+                    break;
+                }
+                y -= denominator[j] * response[k - j];
+            }
+            response[k] = y;
+        }
+        return response;
+    }
+
+    public double[] impulseResponse(Map<String, Double> pidParameters) {
+        return impulseResponse(pidParameters.getOrDefault("Kp", 0.0), pidParameters.getOrDefault("Ki", 0.0),
+                pidParameters.getOrDefault("Kd", 0.0));
+    }
+
+    /**
+     * Response to a setpoint step of {@code amplitude} applied from the first step.
+     */
+    public static double[] stepResponse(double[] impulse, double amplitude) {
+        double[] result = new double[impulse.length];
+        double sum = 0;
+        for (int k = 0; k < impulse.length; k++) {
+            sum += impulse[k];
+            result[k] = amplitude * sum;
+        }
+        return result;
+    }
+
+    /**
+     * Response to the setpoint ramp r(t) = slope * t.
+     */
+    public double[] rampResponse(double[] impulse, double slope) {
+        double[] result = new double[impulse.length];
+        double sum = 0;
+        double sumOfSums = 0;
+        for (int k = 0; k < impulse.length; k++) {
+            sum += impulse[k];
+            sumOfSums += sum;
+            result[k] = slope * dt * sumOfSums;
+        }
+        return result;
+    }
+
+    /**
+     * Response to an arbitrary setpoint sampled at t = dt, 2dt, ...; constant profiles take the
+     * step path, anything else is convolved with the impulse response by FFT.
+     */
+    public double[] response(double[] impulse, SetpointProfile setpoint) {
+        return response(impulse, sample(setpoint));
+    }
+
+    /**
+     * As {@link #response(double[], SetpointProfile)} for a reference already sampled at t = dt, 2dt, ...
+     */
+    public double[] response(double[] impulse, double[] reference) {
+        boolean constant = true;
+        for (int k = 1; k < reference.length && constant; k++) {
+            constant = reference[k] == reference[0];
+        }
+        return constant ? stepResponse(impulse, reference[0]) : convolve(impulse, reference);
+    }
+
+    /**
+     * First {@link #getSteps()} samples of the linear convolution of the impulse response with
+     * {@code reference}. Both real sequences share one complex transform.
+     */
+    public double[] convolve(double[] impulse, double[] reference) {
+        int size = fft.size();
+        double[] re = new double[size];
+        double[] im = new double[size];
+        System.arraycopy(impulse, 0, re, 0, Math.min(steps, impulse.length));
+        System.arraycopy(reference, 0, im, 0, Math.min(steps, reference.length));
+        fft.forward(re, im);
+
+        // With Z = FFT(h + i r): H(k) = (Z(k) + Z*(N-k)) / 2, R(k) = (Z(k) - Z*(N-k)) / 2i
+        double[] yRe = new double[size];
+        double[] yIm = new double[size];
+        for (int k = 0; k < size; k++) {
+            int mirror = (size - k) & (size - 1);
+            double hr = 0.5 * (re[k] + re[mirror]);
+            double hi = 0.5 * (im[k] - im[mirror]);
+            double rr = 0.5 * (im[k] + im[mirror]);
+            double ri = -0.5 * (re[k] - re[mirror]);
+            yRe[k] = hr * rr - hi * ri;
+            yIm[k] = hr * ri + hi * rr;
+        }
+        fft.inverse(yRe, yIm);
+        double[] result = new double[steps];
+        System.arraycopy(yRe, 0, result, 0, steps);
+        return result;
+    }
+
+    /**
+     * Drop-in for a headless {@link org.example.sim.SimulationEngine#run} of a PID loop: metrics and
+     * control effort of the response to {@code setpoint}. A response leaving ±{@code divergenceLimit}
+     * is reported as aborted, with metrics up to that step.
+     */
+    public SimulationResult evaluate(Map<String, Double> pidParameters, SetpointProfile setpoint,
+            double divergenceLimit) {
+        return evaluate(pidParameters, setpoint,
+                (time, pv, runningIae) -> !Double.isFinite(pv) || Math.abs(pv) > divergenceLimit);
+    }
+
+    /**
+     * As above, checking {@code abort} after every step exactly like
+     * {@link org.example.sim.SimulationEngine#setAbortCondition}.
+     */
+    public SimulationResult evaluate(Map<String, Double> pidParameters, SetpointProfile setpoint,
+            AbortCondition abort) {
+        long start = System.nanoTime();
+        double kp = pidParameters.getOrDefault("Kp", 0.0);
+        double ki = pidParameters.getOrDefault("Ki", 0.0);
+        double kd = pidParameters.getOrDefault("Kd", 0.0);
+        double[] reference = sample(setpoint);
+        double[] pv = response(impulseResponse(kp, ki, kd), reference);
+
+        MetricsAccumulator metrics = new MetricsAccumulator(0.0, reference[0]);
+        double integral = 0;
+        double previousError = 0;
+        double previousPv = 0;
+        double effort = 0;
+        int step = 0;
+        boolean aborted = false;
+        while (step < steps) {
+            // Same recurrence as PIDController, only to recover the control effort
+            double error = reference[step] - previousPv;
+            integral += error * dt;
+            double output = kp * error + ki * integral + kd * (error - previousError) / dt;
+            previousError = error;
+            effort += output * output * dt;
+
+            double y = pv[step];
+            step++;
+            metrics.add(step * dt, y, reference[step - 1]);
+            if (abort.shouldAbort(step * dt, y, metrics.getIae())) {
+                aborted = true;
+                break;
+            }
+            previousPv = y;
+        }
+        return new SimulationResult(new Trajectory(0).snapshot(), metrics.toMetrics(), effort, step, !aborted,
+                aborted, System.nanoTime() - start);
+    }
+
+    private double[] sample(SetpointProfile setpoint) {
+        double[] reference = new double[steps];
+        for (int k = 0; k < steps; k++) {
+            reference[k] = setpoint.valueAt((k + 1) * dt);
+        }
+        return reference;
+    }
+
+    private static int[] nonZeroIndices(double[] coefficients, int from) {
+        int count = 0;
+        for (int i = from; i < coefficients.length; i++) {
+            if (coefficients[i] != 0.0) {
+                count++;
+            }
+        }
+        int[] indices = new int[count];
+        count = 0;
+        for (int i = from; i < coefficients.length; i++) {
+            if (coefficients[i] != 0.0) {
+                indices[count++] = i;
+            }
+        }
+        return indices;
+    }
+}
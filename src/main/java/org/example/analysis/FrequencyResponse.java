@@ -0,0 +1,99 @@
+package org.example.analysis;
+
+/**
+ * 闭环频率响应 (PV / 设定值)
+ * 频率升序; 相位已沿频率展开, 单位为度。发散或测不出设定值分量的频率点幅值与相位为 NaN。
+ */
+public final class FrequencyResponse {
+    private static final double HALF_POWER = 1.0 / Math.sqrt(2.0);
+
+    private final double[] frequencies;
+    private final double[] magnitude;
+    private final double[] phaseDegrees;
+    private final long elapsedNanos;
+
+    FrequencyResponse(double[] frequencies, double[] magnitude, double[] phaseDegrees, long elapsedNanos) {
+        this.frequencies = frequencies;
+        this.magnitude = magnitude;
+        this.phaseDegrees = phaseDegrees;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int size() {
+        return frequencies.length;
+    }
+
+    public double frequency(int i) {
+        return frequencies[i];
+    }
+
+    public double magnitude(int i) {
+        return magnitude[i];
+    }
+
+    public double magnitudeDb(int i) {
+        return 20.0 * Math.log10(magnitude[i]);
+    }
+
+    public double phaseDegrees(int i) {
+        return phaseDegrees[i];
+    }
+
+    /**
+     * First frequency (Hz) at which the gain falls below 1/√2 of the lowest-frequency gain,
+     * interpolated on the log-frequency grid; NaN if it never does within the sweep.
+     * Diverged (NaN) points are skipped.
+     */
+    public double bandwidth() {
+        int previous = nextFinite(0);
+        if (previous < 0) {
+            return Double.NaN;
+        }
+        double threshold = magnitude[previous] * HALF_POWER;
+        for (int i = nextFinite(previous + 1); i >= 0; i = nextFinite(i + 1)) {
+            if (magnitude[i] < threshold) {
+                double a = Math.log10(frequencies[previous]);
+                double b = Math.log10(frequencies[i]);
+                double f = (magnitude[previous] - threshold) / (magnitude[previous] - magnitude[i]);
+                return Math.pow(10.0, a + f * (b - a));
+            }
+            previous = i;
+        }
+        return Double.NaN;
+    }
+
+    /** Index of the largest gain, i.e. the resonance peak; -1 if every point diverged. */
+    public int peakIndex() {
+        int peak = nextFinite(0);
+        for (int i = peak + 1; peak >= 0 && i < magnitude.length; i++) {
+            if (magnitude[i] > magnitude[peak]) {
+                peak = i;
+            }
+        }
+        return peak;
+    }
+
+    private int nextFinite(int from) {
+        for (int i = from; i < magnitude.length; i++) {
+            if (!Double.isNaN(magnitude[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Resonance peak M_r = max |T(jω)|. */
+    public double peakMagnitude() {
+        int peak = peakIndex();
+        return peak < 0 ? Double.NaN : magnitude[peak];
+    }
+
+    public double peakFrequency() {
+        int peak = peakIndex();
+        return peak < 0 ? Double.NaN : frequencies[peak];
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,283 @@
+package org.example.analysis;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.example.algorithm.ControlAlgorithm;
+import org.example.plant.Plant;
+import org.example.sim.SetpointProfile;
+import org.example.sim.SimulationEngine;
+import org.example.sim.SimulationResult;
+
+/**
+ * 闭环频率响应扫描
+ * 在对数间隔的频率网格上, 每个频率运行一次正弦设定值的无界面仿真, 所有频率并行。
+ * 等待时间按闭环阶跃响应的稳定时间估计, 瞬态衰减后, 在整数个周期上用 Goertzel 算法分别提取设定值和 PV 在激励频率处的分量,
+ * 两者之比即闭环增益与相位。每步只更新几个标量, 不分配对象。
+ */
+public class FrequencyResponseSweep {
+    private static final double MIN_REFERENCE_POWER = 1e-12; // relative to the ideal reference bin power
+    private static final int MAX_MEASURE_CYCLES = 1000;
+
+    private final Supplier<? extends Plant> plantFactory;
+    private final Supplier<? extends ControlAlgorithm> algorithmFactory;
+    private final double dt;
+    private double amplitude = 1.0;
+    private double offset = 0.0;
+    private double minSettleTime = 20.0;
+    private double maxSettleTime = 600.0;
+    private double settleFactor = 3.0;
+    private int settleCycles = 5;
+    private int measureCycles = 5;
+    private double divergenceLimit = 1e3;
+
+    public FrequencyResponseSweep(Supplier<? extends Plant> plantFactory,
+            Supplier<? extends ControlAlgorithm> algorithmFactory, double dt) {
+        this.plantFactory = plantFactory;
+        this.algorithmFactory = algorithmFactory;
+        this.dt = dt;
+    }
+
+    /** Sine excitation: setpoint = offset + amplitude * sin(2 pi f t). */
+    public void setExcitation(double amplitude, double offset) {
+        this.amplitude = amplitude;
+        this.offset = offset;
+    }
+
+    /**
+     * Measurement starts after {@code max(minSettleTime, cycles / f, factor * Ts)} seconds, where Ts is the
+     * 2% settling time of the loop's step response, and at most after {@code maxSettleTime}.
+     */
+    public void setSettling(double minSettleTime, double maxSettleTime, int cycles, double factor) {
+        this.minSettleTime = minSettleTime;
+        this.maxSettleTime = maxSettleTime;
+        this.settleCycles = cycles;
+        this.settleFactor = factor;
+    }
+
+    public void setMeasureCycles(int measureCycles) {
+        if (measureCycles < 1) {
+            throw new IllegalArgumentException("Need at least one measurement cycle: " + measureCycles);
+        }
+        this.measureCycles = measureCycles;
+    }
+
+    /** A frequency point is treated as diverged once |PV| exceeds this value or becomes non-finite. */
+    public void setDivergenceLimit(double divergenceLimit) {
+        this.divergenceLimit = divergenceLimit;
+    }
+
+    public static double[] logSpace(double minHz, double maxHz, int points) {
+        if (!(minHz > 0) || maxHz < minHz || points < 1) {
+            throw new IllegalArgumentException("Invalid frequency grid: " + minHz + ".." + maxHz + " x " + points);
+        }
+        double[] grid = new double[points];
+        double a = Math.log10(minHz);
+        double b = Math.log10(maxHz);
+        for (int i = 0; i < points; i++) {
+            grid[i] = points == 1 ? minHz : Math.pow(10.0, a + (b - a) * i / (points - 1));
+        }
+        return grid;
+    }
+
+    public FrequencyResponse run(double minHz, double maxHz, int points) {
+        return run(logSpace(minHz, maxHz, points), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param frequencies ascending excitation frequencies (Hz), each below the Nyquist frequency 1 / (2 dt).
+     *                    Each is snapped to the nearest frequency with a whole number of periods in the
+     *                    measurement window, and to more than two steps per period; the result reports the
+     *                    snapped values. Near Nyquist the window grows beyond the configured cycle count so
+     *                    that neighbouring grid points stay distinct; points that still snap onto the same
+     *                    frequency are reported once. Points that diverge or whose reference component
+     *                    vanishes are NaN.
+     */
+    public FrequencyResponse run(double[] frequencies, ForkJoinPool pool) {
+        double nyquist = 0.5 / dt;
+        for (double f : frequencies) {
+            if (!(f > 0) || f >= nyquist) {
+                throw new IllegalArgumentException(
+                        String.format("Frequency %.4g Hz outside (0, %.4g) Hz", f, nyquist));
+            }
+        }
+        long start = System.nanoTime();
+        double settleTime = Math.min(maxSettleTime, Math.max(minSettleTime, settleFactor * loopSettlingTime()));
+        int n = frequencies.length;
+        double[] magnitude = new double[n];
+        double[] phase = new double[n];
+        double[] measured = new double[n];
+        int[] cycles = new int[n];
+        for (int i = 0; i < n; i++) {
+            cycles[i] = measureCyclesFor(frequencies, i);
+        }
+        pool.submit(() -> IntStream.range(0, n).parallel()
+                .forEach(i -> measure(frequencies[i], cycles[i], settleTime, i, measured, magnitude, phase)))
+                .join();
+
+        // Drop points that snapped onto the frequency of the previous one
+        int kept = 0;
+        for (int i = 0; i < n; i++) {
+            if (kept > 0 && measured[i] == measured[kept - 1]) {
+                continue;
+            }
+            measured[kept] = measured[i];
+            magnitude[kept] = magnitude[i];
+            phase[kept] = phase[i];
+            kept++;
+        }
+        double[] keptPhase = Arrays.copyOf(phase, kept);
+        unwrapDegrees(keptPhase);
+        return new FrequencyResponse(Arrays.copyOf(measured, kept), Arrays.copyOf(magnitude, kept), keptPhase,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Cycles to measure at point {@code i}. A window of N steps snaps to within a relative 1 / (2N) of
+     * the requested frequency, so N is kept above twice the inverse relative gap to the nearest grid
+     * neighbour; at low frequencies the configured count already satisfies this.
+     */
+    private int measureCyclesFor(double[] frequencies, int i) {
+        double gap = Double.POSITIVE_INFINITY;
+        if (i > 0) {
+            gap = Math.min(gap, Math.abs(frequencies[i] - frequencies[i - 1]) / frequencies[i]);
+        }
+        if (i + 1 < frequencies.length) {
+            gap = Math.min(gap, Math.abs(frequencies[i + 1] - frequencies[i]) / frequencies[i]);
+        }
+        // N = cycles / (f dt) must reach 2 / gap
+        double needed = Math.ceil(2.0 * frequencies[i] * dt / gap);
+        return (int) Math.min(MAX_MEASURE_CYCLES, Math.max(measureCycles, needed));
+    }
+
+    /**
+     * 2% settling time of a unit setpoint step, which bounds how long the start-up transient rings.
+     */
+    private double loopSettlingTime() {
+        Plant plant = plantFactory.get();
+        ControlAlgorithm algorithm = algorithmFactory.get();
+        algorithm.reset();
+        plant.reset();
+        SimulationEngine engine = new SimulationEngine(dt);
+        engine.setRecordTrajectory(false);
+        engine.setAbortCondition((time, pv, runningIae) -> !Double.isFinite(pv) || Math.abs(pv) > divergenceLimit);
+        SimulationResult result = engine.run(plant, algorithm, SetpointProfile.step(offset + 1.0), maxSettleTime);
+        return result.aborted() ? maxSettleTime : result.metrics().settlingTime();
+    }
+
+    private void measure(double requested, int cycles, double settleTime, int index, double[] frequencies,
+            double[] magnitude, double[] phase) {
+        // Snap to a whole number of periods in whole steps (coherent sampling), so the single-bin
+        // estimate sees no leakage from the offset or the negative-frequency image. More than two steps
+        // per period keeps the snapped frequency strictly below Nyquist.
+        int measureSteps = Math.max(2 * cycles + 1, (int) Math.round(cycles / (requested * dt)));
+        double frequency = cycles / (measureSteps * dt);
+        frequencies[index] = frequency;
+        int settleSteps = (int) Math.ceil(Math.max(settleTime, settleCycles / frequency) / dt);
+        double omega = 2.0 * Math.PI * frequency * dt; // radians per step
+        Goertzel reference = new Goertzel(omega);
+        Goertzel response = new Goertzel(omega);
+        boolean[] diverged = new boolean[1];
+        long[] step = new long[1];
+
+        Plant plant = plantFactory.get();
+        ControlAlgorithm algorithm = algorithmFactory.get();
+        algorithm.reset();
+        plant.reset();
+        SimulationEngine engine = new SimulationEngine(dt);
+        engine.setRecordTrajectory(false);
+        engine.setStepListener((time, pv, setpoint, output) -> {
+            if (++step[0] > settleSteps) {
+                reference.add(setpoint - offset);
+                response.add(pv - offset);
+            }
+        });
+        engine.setAbortCondition((time, pv, runningIae) -> {
+            if (!Double.isFinite(pv) || Math.abs(pv) > divergenceLimit) {
+                diverged[0] = true;
+                return true;
+            }
+            return false;
+        });
+        engine.run(plant, algorithm, SetpointProfile.sine(amplitude, frequency, offset),
+                (settleSteps + measureSteps) * dt);
+
+        if (diverged[0]) {
+            magnitude[index] = Double.NaN;
+            phase[index] = Double.NaN;
+            return;
+        }
+        // H = Y / X; Goertzel's common phase factor cancels in the ratio
+        double xr = reference.real();
+        double xi = reference.imaginary();
+        double yr = response.real();
+        double yi = response.imaginary();
+        double denominator = xr * xr + xi * xi;
+        // A coherent sine of this amplitude puts |X| = amplitude * N / 2 into the bin
+        double expected = 0.5 * amplitude * measureSteps;
+        if (!(denominator > MIN_REFERENCE_POWER * expected * expected)) {
+            magnitude[index] = Double.NaN;
+            phase[index] = Double.NaN;
+            return;
+        }
+        double hr = (yr * xr + yi * xi) / denominator;
+        double hi = (yi * xr - yr * xi) / denominator;
+        magnitude[index] = Math.hypot(hr, hi);
+        phase[index] = Math.toDegrees(Math.atan2(hi, hr));
+    }
+
+    private static void unwrapDegrees(double[] phase) {
+        double shift = 0;
+        double previous = Double.NaN;
+        for (int i = 0; i < phase.length; i++) {
+            if (Double.isNaN(phase[i])) {
+                continue;
+            }
+            double value = phase[i] + shift;
+            if (!Double.isNaN(previous)) {
+                while (value - previous > 180.0) {
+                    value -= 360.0;
+                    shift -= 360.0;
+                }
+                while (value - previous < -180.0) {
+                    value += 360.0;
+                    shift += 360.0;
+                }
+            }
+            phase[i] = value;
+            previous = value;
+        }
+    }
+
+    /** Single-bin DFT at an arbitrary normalized frequency via the Goertzel recurrence. */
+    private static final class Goertzel {
+        private final double coefficient;
+        private final double cos;
+        private final double sin;
+        private double s1;
+        private double s2;
+
+        Goertzel(double omega) {
+            this.cos = Math.cos(omega);
+            this.sin = Math.sin(omega);
+            this.coefficient = 2.0 * cos;
+        }
+
+        void add(double x) {
+            double s0 = x + coefficient * s1 - s2;
+            s2 = s1;
+            s1 = s0;
+        }
+
+        // y[N-1] = s1 - e^{-i omega} s2, equal to the DFT bin up to a phase factor shared by both signals
+        double real() {
+            return s1 - cos * s2;
+        }
+
+        double imaginary() {
+            return sin * s2;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.analysis;
+
+import java.util.Arrays;
+
+/**
+ * 单个性能指标在所有稳定样本上的经验分布
+ */
+public final class MetricDistribution {
+    private final String name;
+    private final double[] sorted;
+    private final double mean;
+
+    MetricDistribution(String name, double[] values, int count) {
+        this.name = name;
+        this.sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        double sum = 0;
+        for (double v : sorted) {
+            sum += v;
+        }
+        this.mean = count == 0 ? Double.NaN : sum / count;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCount() {
+        return sorted.length;
+    }
+
+    /**
+     * Linearly interpolated percentile, {@code p} in [0, 100]. Returns NaN when there are no samples.
+     */
+    public double percentile(double p) {
+        if (p < 0 || p > 100) {
+            throw new IllegalArgumentException("Percentile out of range: " + p);
+        }
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        double rank = p / 100.0 * (sorted.length - 1);
+        int lo = (int) Math.floor(rank);
+        int hi = Math.min(lo + 1, sorted.length - 1);
+        return sorted[lo] + (rank - lo) * (sorted[hi] - sorted[lo]);
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getMin() {
+        return sorted.length == 0 ? Double.NaN : sorted[0];
+    }
+
+    public double getMax() {
+        return sorted.length == 0 ? Double.NaN : sorted[sorted.length - 1];
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.analysis;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+import org.example.algorithm.ControlAlgorithm;
+import org.example.data.PerformanceMetrics;
+import org.example.plant.Plant;
+import org.example.sim.SetpointProfile;
+import org.example.sim.SimulationEngine;
+import org.example.sim.SimulationResult;
+
+/**
+ * 蒙特卡洛鲁棒性分析
+ * 从给定分布抽取被控对象参数, 在 ForkJoin 线程池上并行仿真固定控制器下的闭环。
+ * 样本按固定大小分块, 每块使用从种子依次 split 出的独立 SplittableRandom,
+ * 因此相同种子的结果与线程数和调度顺序无关。
+ */
+public class MonteCarloAnalysis {
+    private static final int CHUNK_SIZE = 32;
+
+    /** Builds a plant from one draw of the uncertain parameters, in declaration order. */
+    @FunctionalInterface
+    public interface PlantFactory {
+        Plant create(double[] values);
+    }
+
+    private final PlantFactory plantFactory;
+    private final UncertainParameter[] parameters;
+    private final Supplier<? extends ControlAlgorithm> algorithmFactory;
+    private final double dt;
+    private final double duration;
+    private SetpointProfile setpoint = SetpointProfile.step(5.0);
+    private double divergenceLimit = 1e3;
+
+    public MonteCarloAnalysis(PlantFactory plantFactory, List<UncertainParameter> parameters,
+            Supplier<? extends ControlAlgorithm> algorithmFactory, double dt, double duration) {
+        this.plantFactory = plantFactory;
+        this.parameters = parameters.toArray(new UncertainParameter[0]);
+        this.algorithmFactory = algorithmFactory;
+        this.dt = dt;
+        this.duration = duration;
+    }
+
+    public void setSetpoint(SetpointProfile setpoint) {
+        this.setpoint = setpoint;
+    }
+
+    /** A run is counted as unstable once |PV| exceeds this value or becomes non-finite. */
+    public void setDivergenceLimit(double divergenceLimit) {
+        this.divergenceLimit = divergenceLimit;
+    }
+
+    public MonteCarloResult run(int samples, long seed) {
+        return run(samples, seed, ForkJoinPool.commonPool());
+    }
+
+    public MonteCarloResult run(int samples, long seed, ForkJoinPool pool) {
+        if (samples < 1) {
+            throw new IllegalArgumentException("Monte Carlo needs at least one sample");
+        }
+        long start = System.nanoTime();
+        String[] names = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            names[i] = parameters[i].name();
+        }
+
+        int chunks = (samples + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            streams[c] = root.split();
+        }
+
+        Columns columns = new Columns(parameters.length, samples);
+        pool.invoke(new ChunkTask(streams, columns, 0, chunks));
+        return new MonteCarloResult(names, columns.parameterValues, columns.unstable, columns.riseTime,
+                columns.overshoot, columns.settlingTime, columns.iae, System.nanoTime() - start);
+    }
+
+    private void runChunk(SplittableRandom random, Columns columns, int chunk) {
+        int from = chunk * CHUNK_SIZE;
+        int to = Math.min(from + CHUNK_SIZE, columns.unstable.length);
+        double[] values = new double[parameters.length];
+        boolean[] diverged = new boolean[1];
+        SimulationEngine engine = new SimulationEngine(dt);
+        engine.setRecordTrajectory(false);
+        engine.setAbortCondition((time, pv, runningIae) -> {
+            if (!Double.isFinite(pv) || Math.abs(pv) > divergenceLimit) {
+                diverged[0] = true;
+                return true;
+            }
+            return false;
+        });
+
+        for (int i = from; i < to; i++) {
+            for (int p = 0; p < parameters.length; p++) {
+                values[p] = parameters[p].distribution().sample(random);
+                columns.parameterValues[p][i] = values[p];
+            }
+            Plant plant = plantFactory.create(values);
+            ControlAlgorithm algorithm = algorithmFactory.get();
+            algorithm.reset();
+            plant.reset();
+
+            diverged[0] = false;
+            SimulationResult result = engine.run(plant, algorithm, setpoint, duration);
+            PerformanceMetrics metrics = result.metrics();
+            columns.unstable[i] = diverged[0];
+            columns.riseTime[i] = metrics.riseTime();
+            columns.overshoot[i] = metrics.overshoot();
+            columns.settlingTime[i] = metrics.settlingTime();
+            columns.iae[i] = metrics.iae();
+        }
+    }
+
+    private static final class Columns {
+        final double[][] parameterValues;
+        final boolean[] unstable;
+        final double[] riseTime;
+        final double[] overshoot;
+        final double[] settlingTime;
+        final double[] iae;
+
+        Columns(int parameterCount, int samples) {
+            parameterValues = new double[parameterCount][samples];
+            unstable = new boolean[samples];
+            riseTime = new double[samples];
+            overshoot = new double[samples];
+            settlingTime = new double[samples];
+            iae = new double[samples];
+        }
+    }
+
+    private final class ChunkTask extends RecursiveAction {
+        private final SplittableRandom[] streams;
+        private final Columns columns;
+        private final int from;
+        private final int to;
+
+        ChunkTask(SplittableRandom[] streams, Columns columns, int from, int to) {
+            this.streams = streams;
+            this.columns = columns;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int c = from; c < to; c++) {
+                    runChunk(streams[c], columns, c);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(streams, columns, from, mid), new ChunkTask(streams, columns, mid, to));
+        }
+    }
+}
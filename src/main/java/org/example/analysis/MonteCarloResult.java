@@ -0,0 +1,100 @@
+package org.example.analysis;
+
+/**
+ * 蒙特卡洛鲁棒性分析结果
+ * 每个样本的参数与指标按列存储; 指标分布只统计未发散的样本。
+ */
+public final class MonteCarloResult {
+    private final String[] parameterNames;
+    private final double[][] parameterSamples;
+    private final boolean[] unstable;
+    private final int unstableCount;
+    private final MetricDistribution riseTime;
+    private final MetricDistribution overshoot;
+    private final MetricDistribution settlingTime;
+    private final MetricDistribution iae;
+    private final long elapsedNanos;
+
+    MonteCarloResult(String[] parameterNames, double[][] parameterSamples, boolean[] unstable,
+            double[] riseTime, double[] overshoot, double[] settlingTime, double[] iae, long elapsedNanos) {
+        this.parameterNames = parameterNames;
+        this.parameterSamples = parameterSamples;
+        this.unstable = unstable;
+        this.elapsedNanos = elapsedNanos;
+
+        // Compact the stable samples to the front of scratch columns before sorting
+        int n = unstable.length;
+        double[] rise = new double[n];
+        double[] over = new double[n];
+        double[] settle = new double[n];
+        double[] err = new double[n];
+        int stable = 0;
+        for (int i = 0; i < n; i++) {
+            if (!unstable[i]) {
+                rise[stable] = riseTime[i];
+                over[stable] = overshoot[i];
+                settle[stable] = settlingTime[i];
+                err[stable] = iae[i];
+                stable++;
+            }
+        }
+        this.unstableCount = n - stable;
+        this.riseTime = new MetricDistribution("Rise Time (s)", rise, stable);
+        this.overshoot = new MetricDistribution("Overshoot (%)", over, stable);
+        this.settlingTime = new MetricDistribution("Settling Time (s)", settle, stable);
+        this.iae = new MetricDistribution("IAE", err, stable);
+    }
+
+    public int getSampleCount() {
+        return unstable.length;
+    }
+
+    public int getUnstableCount() {
+        return unstableCount;
+    }
+
+    public double getUnstableFraction() {
+        return unstable.length == 0 ? 0.0 : (double) unstableCount / unstable.length;
+    }
+
+    public boolean isUnstable(int sample) {
+        return unstable[sample];
+    }
+
+    public String[] getParameterNames() {
+        return parameterNames.clone();
+    }
+
+    /** Value drawn for parameter {@code parameter} (index into {@link #getParameterNames()}) in {@code sample}. */
+    public double getParameterSample(int parameter, int sample) {
+        return parameterSamples[parameter][sample];
+    }
+
+    public MetricDistribution getRiseTime() {
+        return riseTime;
+    }
+
+    public MetricDistribution getOvershoot() {
+        return overshoot;
+    }
+
+    public MetricDistribution getSettlingTime() {
+        return settlingTime;
+    }
+
+    public MetricDistribution getIae() {
+        return iae;
+    }
+
+    public MetricDistribution[] getMetricDistributions() {
+        return new MetricDistribution[] { riseTime, overshoot, settlingTime, iae };
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double runsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : unstable.length * 1e9 / elapsedNanos;
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.analysis;
+
+/**
+ * 原地基 2 FFT
+ * 位反转表和旋转因子在构造时预先计算, transform 不分配对象。
+ */
+final class Radix2Fft {
+    private final int size;
+    private final int[] bitReverse;
+    private final double[] cos;
+    private final double[] sin;
+
+    Radix2Fft(int size) {
+        if (size < 2 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("FFT size must be a power of two: " + size);
+        }
+        this.size = size;
+        this.bitReverse = new int[size];
+        int bits = Integer.numberOfTrailingZeros(size);
+        for (int i = 0; i < size; i++) {
+            bitReverse[i] = Integer.reverse(i) >>> (32 - bits);
+        }
+        this.cos = new double[size / 2];
+        this.sin = new double[size / 2];
+        for (int i = 0; i < size / 2; i++) {
+            double angle = -2.0 * Math.PI * i / size;
+            cos[i] = Math.cos(angle);
+            sin[i] = Math.sin(angle);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Forward transform, X[k] = sum x[n] e^{-2 pi i k n / N}, in place. */
+    void forward(double[] re, double[] im) {
+        transform(re, im, false);
+    }
+
+    /** Inverse transform including the 1/N scaling, in place. */
+    void inverse(double[] re, double[] im) {
+        transform(re, im, true);
+        double scale = 1.0 / size;
+        for (int i = 0; i < size; i++) {
+            re[i] *= scale;
+            im[i] *= scale;
+        }
+    }
+
+    private void transform(double[] re, double[] im, boolean inverse) {
+        for (int i = 0; i < size; i++) {
+            int j = bitReverse[i];
+            if (j > i) {
+                double tr = re[i];
+                re[i] = re[j];
+                re[j] = tr;
+                double ti = im[i];
+                im[i] = im[j];
+                im[j] = ti;
+            }
+        }
+        double sign = inverse ? -1.0 : 1.0;
+        for (int len = 2; len <= size; len <<= 1) {
+            int half = len >> 1;
+            int step = size / len;
+            for (int start = 0; start < size; start += len) {
+                for (int k = 0; k < half; k++) {
+                    double wr = cos[k * step];
+                    double wi = sign * sin[k * step];
+                    int a = start + k;
+                    int b = a + half;
+                    double xr = re[b] * wr - im[b] * wi;
+                    double xi = re[b] * wi + im[b] * wr;
+                    re[b] = re[a] - xr;
+                    im[b] = im[a] - xi;
+                    re[a] += xr;
+                    im[a] += xi;
+                }
+            }
+        }
+    }
+}
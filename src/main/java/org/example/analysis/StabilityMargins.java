@@ -0,0 +1,35 @@
+package org.example.analysis;
+
+/**
+ * 开环 L = z⁻¹ H(z) C(z) (z = e^(jωdt)) 的稳定裕度
+ * 频率单位为 rad/s; 不存在相应穿越点时, 裕度为 +∞, 穿越频率为 NaN。
+ *
+ * @param gainMargin            1 / |L| at the phase crossover (absolute ratio)
+ * @param phaseCrossover        ω where the phase of L first reaches -180°
+ * @param phaseMargin           180° + ∠L at the gain crossover, in degrees
+ * @param gainCrossover         ω where |L| first falls to 1
+ * @param sensitivityPeak       Ms = max |1 / (1 + L)| over the grid
+ * @param sensitivityPeakOmega  ω of Ms
+ */
+public record StabilityMargins(
+        double gainMargin,
+        double phaseCrossover,
+        double phaseMargin,
+        double gainCrossover,
+        double sensitivityPeak,
+        double sensitivityPeakOmega) {
+
+    public double gainMarginDb() {
+        return 20.0 * Math.log10(gainMargin);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GM: %s  PM: %s  Ms: %.2f",
+                Double.isInfinite(gainMargin) ? "∞" : String.format("%.1f dB @ %.2f rad/s", gainMarginDb(),
+                        phaseCrossover),
+                Double.isInfinite(phaseMargin) ? "∞" : String.format("%.1f° @ %.2f rad/s", phaseMargin,
+                        gainCrossover),
+                sensitivityPeak);
+    }
+}
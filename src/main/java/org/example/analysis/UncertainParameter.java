@@ -0,0 +1,7 @@
+package org.example.analysis;
+
+/**
+ * 被控对象的一个不确定参数
+ */
+public record UncertainParameter(String name, Distribution distribution) {
+}
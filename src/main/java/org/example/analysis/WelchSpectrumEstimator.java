@@ -0,0 +1,147 @@
+package org.example.analysis;
+
+import java.util.Arrays;
+
+import org.example.data.TrajectoryView;
+import org.example.monitor.SpectrumAnalysisEvent;
+
+/**
+ * 增量式 Welch 功率谱估计
+ * 样本逐个写入环形缓冲区, 每满半个段长就对最近一段做去均值、Hann 加窗和 FFT,
+ * 并把单边功率谱累加到平均值中。所有缓冲区在构造时分配, add() 不分配对象,
+ * 每个样本的均摊开销为 O(log n)。
+ */
+public final class WelchSpectrumEstimator {
+    private final int segmentLength;
+    private final int hop;
+    private final double sampleRate;
+    private final Radix2Fft fft;
+    private final double[] window;
+    private final double windowPower;
+    private final double[] history;
+    private final double[] re;
+    private final double[] im;
+    private final double[] psdSum;
+
+    private int writeIndex;
+    private long samplesSeen;
+    private int sinceLastSegment;
+    private int segments;
+
+    /**
+     * @param segmentLength 段长, a power of two; segments overlap by 50%
+     * @param sampleRate    采样频率 (Hz)
+     */
+    public WelchSpectrumEstimator(int segmentLength, double sampleRate) {
+        this.fft = new Radix2Fft(segmentLength);
+        this.segmentLength = segmentLength;
+        this.hop = segmentLength / 2;
+        this.sampleRate = sampleRate;
+        this.window = new double[segmentLength];
+        double power = 0;
+        for (int i = 0; i < segmentLength; i++) {
+            // Periodic Hann window, which satisfies the constant-overlap-add condition at 50% overlap
+            window[i] = 0.5 - 0.5 * Math.cos(2.0 * Math.PI * i / segmentLength);
+            power += window[i] * window[i];
+        }
+        this.windowPower = power;
+        this.history = new double[segmentLength];
+        this.re = new double[segmentLength];
+        this.im = new double[segmentLength];
+        this.psdSum = new double[segmentLength / 2 + 1];
+    }
+
+    /**
+     * Welch estimate of the PV column of a whole trajectory, with the segment length capped to its size.
+     */
+    public static WelchSpectrumEstimator of(TrajectoryView data, int maxSegmentLength, double sampleRate) {
+        SpectrumAnalysisEvent event = new SpectrumAnalysisEvent();
+        event.begin();
+        int segment = Integer.highestOneBit(Math.max(2, Math.min(maxSegmentLength, data.size())));
+        WelchSpectrumEstimator estimator = new WelchSpectrumEstimator(segment, sampleRate);
+        for (int i = 0; i < data.size(); i++) {
+            estimator.add(data.pv(i));
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.samples = data.size();
+            event.segmentLength = segment;
+            event.segments = estimator.getSegmentCount();
+            event.commit();
+        }
+        return estimator;
+    }
+
+    public void add(double sample) {
+        history[writeIndex] = sample;
+        writeIndex = (writeIndex + 1) & (segmentLength - 1);
+        samplesSeen++;
+        if (++sinceLastSegment >= hop && samplesSeen >= segmentLength) {
+            sinceLastSegment = 0;
+            processSegment();
+        }
+    }
+
+    private void processSegment() {
+        // writeIndex now points at the oldest sample of the segment
+        double mean = 0;
+        for (double v : history) {
+            mean += v;
+        }
+        mean /= segmentLength;
+        for (int i = 0; i < segmentLength; i++) {
+            re[i] = (history[(writeIndex + i) & (segmentLength - 1)] - mean) * window[i];
+            im[i] = 0.0;
+        }
+        fft.forward(re, im);
+        int bins = psdSum.length;
+        double scale = 1.0 / (sampleRate * windowPower);
+        for (int k = 0; k < bins; k++) {
+            double p = (re[k] * re[k] + im[k] * im[k]) * scale;
+            // One-sided: fold negative frequencies onto positive ones except DC and Nyquist
+            psdSum[k] += (k == 0 || k == bins - 1) ? p : 2.0 * p;
+        }
+        segments++;
+    }
+
+    public int getSegmentLength() {
+        return segmentLength;
+    }
+
+    public int getBinCount() {
+        return psdSum.length;
+    }
+
+    public double frequency(int bin) {
+        return bin * sampleRate / segmentLength;
+    }
+
+    /** Number of segments averaged so far. */
+    public int getSegmentCount() {
+        return segments;
+    }
+
+    public long getSampleCount() {
+        return samplesSeen;
+    }
+
+    /**
+     * Copies the averaged one-sided power spectral density (units²/Hz) into {@code out},
+     * which must hold {@link #getBinCount()} values. All zeros until the first segment completes.
+     */
+    public void copyPsd(double[] out) {
+        double norm = segments == 0 ? 0.0 : 1.0 / segments;
+        for (int k = 0; k < psdSum.length; k++) {
+            out[k] = psdSum[k] * norm;
+        }
+    }
+
+    public void reset() {
+        Arrays.fill(history, 0.0);
+        Arrays.fill(psdSum, 0.0);
+        writeIndex = 0;
+        samplesSeen = 0;
+        sinceLastSegment = 0;
+        segments = 0;
+    }
+}
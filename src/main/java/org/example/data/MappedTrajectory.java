@@ -0,0 +1,60 @@
+package org.example.data;
+
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * 基于内存映射文件的只读轨迹
+ * 四列按 time / pv / setpoint / output 顺序连续存放, 数据只在被访问时由操作系统按页载入。
+ */
+final class MappedTrajectory implements TrajectoryView {
+    private final DoubleBuffer columns;
+    private final int size;
+
+    MappedTrajectory(MappedByteBuffer buffer, int size) {
+        this.columns = buffer.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        this.size = size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double time(int index) {
+        return columns.get(checkIndex(index));
+    }
+
+    @Override
+    public double pv(int index) {
+        return columns.get(size + checkIndex(index));
+    }
+
+    @Override
+    public double setpoint(int index) {
+        return columns.get(2 * size + checkIndex(index));
+    }
+
+    @Override
+    public double output(int index) {
+        return columns.get(3 * size + checkIndex(index));
+    }
+
+    @Override
+    public void copyPv(int from, double[] dst, int dstPos, int length) {
+        if (from < 0 || length < 0 || from + length > size) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + from + ", " + (from + length) + ") out of bounds for length " + size);
+        }
+        columns.get(size + from, dst, dstPos, length);
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return index;
+    }
+}
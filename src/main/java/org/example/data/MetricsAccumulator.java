@@ -0,0 +1,119 @@
+package org.example.data;
+
+/**
+ * 在线性能指标累加器
+ * 每个采样点 O(1) 更新上升时间、峰值/超调量、稳定时间和 IAE, 不分配对象,
+ * 结果与 {@link PerformanceMetricsCalculator} 对同一组数据的计算结果一致。
+ */
+public final class MetricsAccumulator {
+    private double initialValue;
+    private double finalValue;
+    private double stepHeight;
+    private double target10;
+    private double target90;
+    private double tolerance;
+
+    private int count;
+    private double lastTime;
+    private double timeAt10;
+    private double timeAt90;
+    private double maxPv;
+    private double lastTimeOutsideBand;
+    private double iae;
+
+    public MetricsAccumulator(double initialValue, double finalValue) {
+        reset(initialValue, finalValue);
+    }
+
+    public void reset(double initialValue, double finalValue) {
+        this.initialValue = initialValue;
+        this.finalValue = finalValue;
+        this.stepHeight = finalValue - initialValue;
+        this.target10 = initialValue + 0.1 * stepHeight;
+        this.target90 = initialValue + 0.9 * stepHeight;
+        this.tolerance = 0.02 * Math.abs(stepHeight); // 2% tolerance band
+        this.count = 0;
+        this.lastTime = 0;
+        this.timeAt10 = -1;
+        this.timeAt90 = -1;
+        this.maxPv = Double.NEGATIVE_INFINITY;
+        this.lastTimeOutsideBand = 0;
+        this.iae = 0;
+    }
+
+    public void add(double time, double pv, double setpoint) {
+        if (timeAt90 == -1) {
+            if (timeAt10 == -1 && pv >= target10) {
+                timeAt10 = time;
+            }
+            if (pv >= target90) {
+                timeAt90 = time;
+            }
+        }
+        if (pv > maxPv) {
+            maxPv = pv;
+        }
+        if (Math.abs(pv - finalValue) > tolerance) {
+            lastTimeOutsideBand = time;
+        }
+        if (count > 0) {
+            iae += Math.abs(setpoint - pv) * (time - lastTime);
+        }
+        lastTime = time;
+        count++;
+    }
+
+    public int getSampleCount() {
+        return count;
+    }
+
+    /** IAE accumulated so far; unlike the other metrics it does not depend on the step height. */
+    public double getIae() {
+        return iae;
+    }
+
+    public double getInitialValue() {
+        return initialValue;
+    }
+
+    public double getFinalValue() {
+        return finalValue;
+    }
+
+    private boolean isDegenerate() {
+        return count < 2 || Math.abs(stepHeight) < 1e-6; // Avoid division by zero if setpoint doesn't change
+    }
+
+    public double getRiseTime() {
+        if (isDegenerate()) {
+            return 0;
+        }
+        return (timeAt10 != -1 && timeAt90 != -1) ? timeAt90 - timeAt10 : 0;
+    }
+
+    public double getOvershoot() {
+        if (isDegenerate() || maxPv <= finalValue) {
+            return 0;
+        }
+        return ((maxPv - finalValue) / Math.abs(stepHeight)) * 100.0;
+    }
+
+    public double getSettlingTime() {
+        return isDegenerate() ? 0 : lastTimeOutsideBand;
+    }
+
+    /**
+     * Metrics so far for live display: like {@link #toMetrics()}, but keeps the IAE while the step is
+     * still degenerate.
+     */
+    public PerformanceMetrics toRunningMetrics() {
+        return new PerformanceMetrics(getRiseTime(), getOvershoot(), getSettlingTime(), iae);
+    }
+
+    public PerformanceMetrics toMetrics() {
+        if (isDegenerate()) {
+            return new PerformanceMetrics(0, 0, 0, 0);
+        }
+        return new PerformanceMetrics(getRiseTime(), getOvershoot(), getSettlingTime(), iae);
+    }
+}
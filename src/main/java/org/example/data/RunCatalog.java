@@ -0,0 +1,197 @@
+package org.example.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 运行记录目录
+ * 为每条运行保存名称、时间戳、参数和性能指标等元数据, 轨迹数据在需要时才从来源加载,
+ * 并放入按大小限制的 LRU 缓存中。未保存的新运行常驻内存, 直到被写入文件。
+ */
+public class RunCatalog {
+    public static final long DEFAULT_CACHE_BYTES = 256L << 20;
+
+    /**
+     * Loads a run's trajectory on demand.
+     */
+    @FunctionalInterface
+    public interface TrajectorySource {
+        TrajectoryView load() throws IOException;
+    }
+
+    /**
+     * Metadata of one run. The trajectory is either resident or loaded through its source.
+     */
+    public static final class Entry {
+        private final String name;
+        private final long timestamp;
+        private final Map<String, Double> parameters;
+        private final PerformanceMetrics metrics;
+        private final int sampleCount;
+        private final TrajectoryView resident;
+        private final TrajectorySource source;
+
+        private Entry(String name, long timestamp, Map<String, Double> parameters, PerformanceMetrics metrics,
+                int sampleCount, TrajectoryView resident, TrajectorySource source) {
+            this.name = name;
+            this.timestamp = timestamp;
+            this.parameters = parameters;
+            this.metrics = metrics;
+            this.sampleCount = sampleCount;
+            this.resident = resident;
+            this.source = source;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public Map<String, Double> getParameters() {
+            return parameters;
+        }
+
+        public PerformanceMetrics getMetrics() {
+            return metrics;
+        }
+
+        public int getSampleCount() {
+            return sampleCount;
+        }
+
+        public boolean isResident() {
+            return resident != null;
+        }
+
+        @Override
+        public String toString() {
+            return name; // JList will use this to display the run
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final List<Closeable> openLibraries = new ArrayList<>();
+    private final TrajectoryCache<Entry> cache;
+
+    public RunCatalog() {
+        this(DEFAULT_CACHE_BYTES);
+    }
+
+    public RunCatalog(long cacheBytes) {
+        this.cache = new TrajectoryCache<>(cacheBytes);
+    }
+
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Entry add(SimulationRun run) {
+        TrajectoryView data = run.getData();
+        Entry entry = new Entry(run.getName(), run.getTimestamp(), run.getParameters(), run.getMetrics(),
+                data.size(), data, null);
+        entries.add(entry);
+        return entry;
+    }
+
+    public void addAll(List<SimulationRun> runs) {
+        runs.forEach(this::add);
+    }
+
+    /**
+     * Indexes every run in a binary run library without reading any trajectory data.
+     */
+    public void addLibrary(Path path) throws IOException {
+        addReader(RunFile.open(path));
+    }
+
+    /**
+     * Replaces the catalog contents with the runs of a library. The catalog is left untouched
+     * if the file cannot be opened.
+     */
+    public void replaceWithLibrary(Path path) throws IOException {
+        RunFile.Reader reader = RunFile.open(path);
+        clear();
+        addReader(reader);
+    }
+
+    public void replaceWith(List<SimulationRun> runs) {
+        clear();
+        addAll(runs);
+    }
+
+    private void addReader(RunFile.Reader reader) {
+        openLibraries.add(reader);
+        for (RunFile.IndexEntry indexEntry : reader.entries()) {
+            entries.add(new Entry(indexEntry.name(), indexEntry.timestamp(), indexEntry.parameters(),
+                    indexEntry.metrics(), indexEntry.sampleCount(), null, () -> reader.map(indexEntry)));
+        }
+    }
+
+    public void remove(Entry entry) {
+        entries.remove(entry);
+        cache.remove(entry);
+    }
+
+    /**
+     * Removes every entry and releases the libraries opened by {@link #addLibrary}.
+     */
+    public void clear() {
+        entries.clear();
+        cache.clear();
+        for (Closeable library : openLibraries) {
+            try {
+                library.close();
+            } catch (IOException e) {
+                // Mapped views already handed out stay valid; nothing else to release
+            }
+        }
+        openLibraries.clear();
+    }
+
+    /**
+     * Returns the trajectory of {@code entry}, loading it into the cache if needed.
+     */
+    public TrajectoryView getTrajectory(Entry entry) throws IOException {
+        if (entry.resident != null) {
+            return entry.resident;
+        }
+        TrajectoryView cached = cache.get(entry);
+        if (cached != null) {
+            return cached;
+        }
+        TrajectoryView loaded = entry.source.load();
+        cache.put(entry, loaded);
+        return loaded;
+    }
+
+    /**
+     * Materializes every entry as a {@link SimulationRun}, for saving. Loaded data bypasses the cache.
+     */
+    public List<SimulationRun> toRuns() throws IOException {
+        List<SimulationRun> runs = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            TrajectoryView data = entry.resident != null ? entry.resident : cache.get(entry);
+            if (data == null) {
+                data = entry.source.load();
+            }
+            runs.add(new SimulationRun(entry.name, entry.timestamp, entry.parameters, data, entry.metrics));
+        }
+        return runs;
+    }
+
+    public TrajectoryCache<Entry> getCache() {
+        return cache;
+    }
+}
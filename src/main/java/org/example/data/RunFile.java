@@ -0,0 +1,307 @@
+package org.example.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 二进制运行库文件 (.cvr)
+ * <pre>
+ * header   magic "CVPR", version, run count, reserved, index offset, index length
+ * columns  per run: time[n], pv[n], setpoint[n], output[n] as raw doubles
+ * index    per run: name, timestamp, parameters, metrics, sample count, column offset
+ * </pre>
+ * All values are little-endian. Writing goes through a {@link FileChannel}; reading only parses
+ * the index, and a run's columns are memory-mapped so they are paged in when first read.
+ */
+public final class RunFile {
+    public static final String EXTENSION = "cvr";
+
+    private static final int MAGIC = 0x52505643; // "CVPR" in little-endian byte order
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int COLUMNS = 4;
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private RunFile() {
+    }
+
+    /**
+     * Writes {@code runs} to a temporary file next to {@code path} and then moves it into place,
+     * so a library that is currently mapped is never truncated underneath its readers.
+     */
+    public static void write(Path path, List<SimulationRun> runs) throws IOException {
+        Path target = path.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            writeTo(temp, runs);
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeTo(Path path, List<SimulationRun> runs) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            long[] offsets = new long[runs.size()];
+            long position = HEADER_BYTES;
+            channel.position(position);
+
+            for (int r = 0; r < runs.size(); r++) {
+                TrajectoryView data = runs.get(r).getData();
+                offsets[r] = position;
+                for (int column = 0; column < COLUMNS; column++) {
+                    for (int i = 0; i < data.size(); i++) {
+                        if (buffer.remaining() < Double.BYTES) {
+                            flush(channel, buffer);
+                        }
+                        buffer.putDouble(read(data, column, i));
+                    }
+                }
+                position += (long) data.size() * COLUMNS * Double.BYTES;
+            }
+            flush(channel, buffer);
+
+            long indexOffset = position;
+            for (int r = 0; r < runs.size(); r++) {
+                writeIndexEntry(channel, buffer, runs.get(r), offsets[r]);
+            }
+            flush(channel, buffer);
+            long indexLength = channel.position() - indexOffset;
+
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(runs.size()).putInt(0);
+            buffer.putLong(indexOffset).putLong(indexLength);
+            buffer.flip();
+            channel.write(buffer, 0);
+        }
+    }
+
+    /**
+     * Opens a run library and returns every run with a memory-mapped view of its data.
+     */
+    public static List<SimulationRun> read(Path path) throws IOException {
+        try (Reader reader = open(path)) {
+            List<SimulationRun> runs = new ArrayList<>(reader.entries().size());
+            for (IndexEntry entry : reader.entries()) {
+                runs.add(new SimulationRun(entry.name(), entry.timestamp(), entry.parameters(), reader.map(entry),
+                        entry.metrics()));
+            }
+            return runs;
+        }
+    }
+
+    /**
+     * Opens a run library for lazy access. Only the index is read here; the channel stays open
+     * so {@link Reader#map} can map a run's columns later, even if the file is replaced meanwhile.
+     */
+    public static Reader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new Reader(channel, readIndex(channel));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static List<IndexEntry> readIndex(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a run library file");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported run file version: " + version);
+        }
+        int runCount = header.getInt();
+        header.getInt();
+        long indexOffset = header.getLong();
+        long indexLength = header.getLong();
+        if (runCount < 0 || indexOffset < HEADER_BYTES || indexLength < 0 || indexLength > Integer.MAX_VALUE
+                || indexOffset + indexLength > channel.size()) {
+            throw new IOException("Corrupt run file index");
+        }
+
+        ByteBuffer index = ByteBuffer.allocate((int) indexLength).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, index, indexOffset);
+        index.flip();
+        try {
+            return readEntries(index, runCount, indexOffset);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Corrupt run file index", e);
+        }
+    }
+
+    private static List<IndexEntry> readEntries(ByteBuffer index, int runCount, long indexOffset)
+            throws IOException {
+        // Every entry takes at least its fixed-size fields, which bounds a believable run count
+        int minEntryBytes = 2 * Integer.BYTES + Long.BYTES + 4 * Double.BYTES + Integer.BYTES + Long.BYTES;
+        if (runCount > index.remaining() / minEntryBytes) {
+            throw new IOException("Corrupt run file index");
+        }
+        List<IndexEntry> entries = new ArrayList<>(runCount);
+        for (int r = 0; r < runCount; r++) {
+            String name = readString(index);
+            long timestamp = index.getLong();
+            int paramCount = index.getInt();
+            if (paramCount < 0 || paramCount > index.remaining() / (Integer.BYTES + Double.BYTES)) {
+                throw new IOException("Corrupt run file entry: " + name);
+            }
+            Map<String, Double> parameters = new LinkedHashMap<>();
+            for (int p = 0; p < paramCount; p++) {
+                String key = readString(index);
+                parameters.put(key, index.getDouble());
+            }
+            PerformanceMetrics metrics = new PerformanceMetrics(index.getDouble(), index.getDouble(),
+                    index.getDouble(), index.getDouble());
+            int samples = index.getInt();
+            long dataOffset = index.getLong();
+
+            long dataBytes = (long) samples * COLUMNS * Double.BYTES;
+            if (samples < 0 || dataOffset < HEADER_BYTES || dataBytes > Integer.MAX_VALUE
+                    || dataOffset + dataBytes > indexOffset) {
+                throw new IOException("Corrupt run file entry: " + name);
+            }
+            entries.add(new IndexEntry(name, timestamp, Map.copyOf(parameters), metrics, samples, dataOffset));
+        }
+        return entries;
+    }
+
+    /**
+     * Metadata of one run as stored in the file index.
+     */
+    public record IndexEntry(String name, long timestamp, Map<String, Double> parameters,
+            PerformanceMetrics metrics, int sampleCount, long dataOffset) {
+    }
+
+    /**
+     * An open run library. Mapped views stay valid after the reader is closed.
+     */
+    public static final class Reader implements Closeable {
+        private final FileChannel channel;
+        private final List<IndexEntry> entries;
+
+        private Reader(FileChannel channel, List<IndexEntry> entries) {
+            this.channel = channel;
+            this.entries = List.copyOf(entries);
+        }
+
+        public List<IndexEntry> entries() {
+            return entries;
+        }
+
+        public TrajectoryView map(IndexEntry entry) throws IOException {
+            long dataBytes = (long) entry.sampleCount() * COLUMNS * Double.BYTES;
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, entry.dataOffset(), dataBytes);
+            return new MappedTrajectory(mapped, entry.sampleCount());
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    public static boolean hasExtension(Path path) {
+        return path.getFileName().toString().toLowerCase().endsWith("." + EXTENSION);
+    }
+
+    private static void writeIndexEntry(FileChannel channel, ByteBuffer buffer, SimulationRun run, long dataOffset)
+            throws IOException {
+        writeString(channel, buffer, run.getName());
+        ensure(channel, buffer, Long.BYTES + Integer.BYTES);
+        buffer.putLong(run.getTimestamp());
+        buffer.putInt(run.getParameters().size());
+        for (Map.Entry<String, Double> entry : run.getParameters().entrySet()) {
+            writeString(channel, buffer, entry.getKey());
+            ensure(channel, buffer, Double.BYTES);
+            buffer.putDouble(entry.getValue());
+        }
+        PerformanceMetrics metrics = run.getMetrics();
+        ensure(channel, buffer, 4 * Double.BYTES + Integer.BYTES + Long.BYTES);
+        buffer.putDouble(metrics.riseTime()).putDouble(metrics.overshoot())
+                .putDouble(metrics.settlingTime()).putDouble(metrics.iae());
+        buffer.putInt(run.getData().size());
+        buffer.putLong(dataOffset);
+    }
+
+    private static void writeString(FileChannel channel, ByteBuffer buffer, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensure(channel, buffer, Integer.BYTES);
+        buffer.putInt(bytes.length);
+        int written = 0;
+        while (written < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush(channel, buffer);
+            }
+            int n = Math.min(buffer.remaining(), bytes.length - written);
+            buffer.put(bytes, written, n);
+            written += n;
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Corrupt run file index");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static double read(TrajectoryView data, int column, int index) {
+        return switch (column) {
+            case 0 -> data.time(index);
+            case 1 -> data.pv(index);
+            case 2 -> data.setpoint(index);
+            default -> data.output(index);
+        };
+    }
+
+    private static void ensure(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel, buffer);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                throw new IOException("Unexpected end of run file");
+            }
+            position += n;
+        }
+    }
+}
@@ -1,19 +1,23 @@
 package org.example.data;
 
-import java.util.List;
 import java.util.Map;
 
 public class SimulationRun {
     private String name;
     private final long timestamp;
     private final Map<String, Double> parameters;
-    private final List<DataPoint> data;
+    private final TrajectoryView data;
     private final PerformanceMetrics metrics;
 
-    public SimulationRun(String name, Map<String, Double> parameters, List<DataPoint> data,
+    public SimulationRun(String name, Map<String, Double> parameters, TrajectoryView data,
+            PerformanceMetrics metrics) {
+        this(name, System.currentTimeMillis(), parameters, data, metrics);
+    }
+
+    public SimulationRun(String name, long timestamp, Map<String, Double> parameters, TrajectoryView data,
             PerformanceMetrics metrics) {
         this.name = name;
-        this.timestamp = System.currentTimeMillis();
+        this.timestamp = timestamp;
         this.parameters = parameters;
         this.data = data;
         this.metrics = metrics;
@@ -24,11 +28,15 @@ public class SimulationRun {
         return name;
     }
 
+    public long getTimestamp() {
+        return timestamp;
+    }
+
     public Map<String, Double> getParameters() {
         return parameters;
     }
 
-    public List<DataPoint> getData() {
+    public TrajectoryView getData() {
         return data;
     }
 
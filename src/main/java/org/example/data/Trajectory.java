@@ -0,0 +1,203 @@
+package org.example.data;
+
+import java.util.Arrays;
+
+/**
+ * 列式运行轨迹
+ * 四列数据分别存放在分块的 double[] 中, 追加时按块增长, 已写入的数据不会被移动或覆盖,
+ * 因此 {@link #snapshot()} 可以在 O(1) 内返回当前内容的只读视图。
+ * <p>
+ * Not thread-safe: a snapshot handed to another thread must be published through a
+ * happens-before edge (for example {@code SwingUtilities.invokeLater} or {@code Thread.join}).
+ */
+public final class Trajectory implements TrajectoryView {
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int MIN_FIRST_CHUNK = 64;
+
+    private double[][] time;
+    private double[][] pv;
+    private double[][] setpoint;
+    private double[][] output;
+    private int size;
+    private final int initialCapacity;
+
+    public Trajectory() {
+        this(MIN_FIRST_CHUNK);
+    }
+
+    /**
+     * @param expectedSize hint used to size the first chunk; larger runs still grow on demand
+     */
+    public Trajectory(int expectedSize) {
+        this.initialCapacity = Math.max(MIN_FIRST_CHUNK, Math.min(CHUNK_SIZE, expectedSize));
+        allocate();
+    }
+
+    public static Trajectory copyOf(TrajectoryView source) {
+        Trajectory copy = new Trajectory(source.size());
+        for (int i = 0; i < source.size(); i++) {
+            copy.add(source.time(i), source.pv(i), source.setpoint(i), source.output(i));
+        }
+        return copy;
+    }
+
+    private void allocate() {
+        time = new double[][] { new double[initialCapacity] };
+        pv = new double[][] { new double[initialCapacity] };
+        setpoint = new double[][] { new double[initialCapacity] };
+        output = new double[][] { new double[initialCapacity] };
+        size = 0;
+    }
+
+    public void add(double t, double pvValue, double setpointValue, double outputValue) {
+        int chunk = size >>> CHUNK_BITS;
+        int offset = size & CHUNK_MASK;
+        double[] current = chunk < time.length ? time[chunk] : null;
+        if (current == null || offset >= current.length) {
+            grow(chunk);
+        }
+        time[chunk][offset] = t;
+        pv[chunk][offset] = pvValue;
+        setpoint[chunk][offset] = setpointValue;
+        output[chunk][offset] = outputValue;
+        size++;
+    }
+
+    private void grow(int chunk) {
+        if (chunk == 0) {
+            // The first chunk doubles until it reaches CHUNK_SIZE so short runs stay small
+            int newLength = Math.min(CHUNK_SIZE, time[0].length * 2);
+            time[0] = Arrays.copyOf(time[0], newLength);
+            pv[0] = Arrays.copyOf(pv[0], newLength);
+            setpoint[0] = Arrays.copyOf(setpoint[0], newLength);
+            output[0] = Arrays.copyOf(output[0], newLength);
+            return;
+        }
+        if (chunk >= time.length) {
+            int newChunks = Math.max(chunk + 1, time.length * 2);
+            time = Arrays.copyOf(time, newChunks);
+            pv = Arrays.copyOf(pv, newChunks);
+            setpoint = Arrays.copyOf(setpoint, newChunks);
+            output = Arrays.copyOf(output, newChunks);
+        }
+        time[chunk] = new double[CHUNK_SIZE];
+        pv[chunk] = new double[CHUNK_SIZE];
+        setpoint[chunk] = new double[CHUNK_SIZE];
+        output[chunk] = new double[CHUNK_SIZE];
+    }
+
+    /**
+     * Drops all samples. Existing snapshots keep their data because fresh storage is allocated.
+     */
+    public void clear() {
+        allocate();
+    }
+
+    /**
+     * Returns a read-only view of the samples recorded so far. Later appends are not visible through it.
+     */
+    public TrajectoryView snapshot() {
+        return new Snapshot(time, pv, setpoint, output, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double time(int index) {
+        return read(time, index, size);
+    }
+
+    @Override
+    public double pv(int index) {
+        return read(pv, index, size);
+    }
+
+    @Override
+    public double setpoint(int index) {
+        return read(setpoint, index, size);
+    }
+
+    @Override
+    public double output(int index) {
+        return read(output, index, size);
+    }
+
+    @Override
+    public void copyPv(int from, double[] dst, int dstPos, int length) {
+        copyColumn(pv, size, from, dst, dstPos, length);
+    }
+
+    private static double read(double[][] column, int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return column[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    private static void copyColumn(double[][] column, int size, int from, double[] dst, int dstPos, int length) {
+        if (from < 0 || length < 0 || from + length > size) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + from + ", " + (from + length) + ") out of bounds for length " + size);
+        }
+        int copied = 0;
+        while (copied < length) {
+            int index = from + copied;
+            int offset = index & CHUNK_MASK;
+            int n = Math.min(length - copied, CHUNK_SIZE - offset);
+            System.arraycopy(column[index >>> CHUNK_BITS], offset, dst, dstPos + copied, n);
+            copied += n;
+        }
+    }
+
+    private static final class Snapshot implements TrajectoryView {
+        private final double[][] time;
+        private final double[][] pv;
+        private final double[][] setpoint;
+        private final double[][] output;
+        private final int size;
+
+        Snapshot(double[][] time, double[][] pv, double[][] setpoint, double[][] output, int size) {
+            // Copy the chunk tables so growth of the first chunk in the live trajectory is not observed
+            this.time = time.clone();
+            this.pv = pv.clone();
+            this.setpoint = setpoint.clone();
+            this.output = output.clone();
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public double time(int index) {
+            return read(time, index, size);
+        }
+
+        @Override
+        public double pv(int index) {
+            return read(pv, index, size);
+        }
+
+        @Override
+        public double setpoint(int index) {
+            return read(setpoint, index, size);
+        }
+
+        @Override
+        public double output(int index) {
+            return read(output, index, size);
+        }
+
+        @Override
+        public void copyPv(int from, double[] dst, int dstPos, int length) {
+            copyColumn(pv, size, from, dst, dstPos, length);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.data;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 按字节数限制大小的 LRU 轨迹缓存
+ * 每条轨迹按 4 列 double 估算堆内占用, 超出上限时淘汰最久未使用的条目。
+ * 内存映射的轨迹不占堆, 不计入字节预算, 而是单独按条数限制: 超出时淘汰最久未使用的映射,
+ * 以免浏览过的每个运行都一直占着一个映射和相应的地址空间。
+ */
+public class TrajectoryCache<K> {
+    public static final int DEFAULT_MAX_MAPPED = 64;
+    private static final long BYTES_PER_SAMPLE = 4L * Double.BYTES;
+
+    private final LinkedHashMap<K, TrajectoryView> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxBytes;
+    private final int maxMapped;
+    private long currentBytes = 0;
+    private int mappedCount = 0;
+
+    public TrajectoryCache(long maxBytes) {
+        this(maxBytes, DEFAULT_MAX_MAPPED);
+    }
+
+    /**
+     * @param maxBytes  budget for heap-backed trajectories
+     * @param maxMapped number of memory-mapped trajectories kept at most
+     */
+    public TrajectoryCache(long maxBytes, int maxMapped) {
+        if (maxMapped < 0) {
+            throw new IllegalArgumentException("Mapped entry bound must not be negative: " + maxMapped);
+        }
+        this.maxBytes = maxBytes;
+        this.maxMapped = maxMapped;
+    }
+
+    /**
+     * Estimated heap bytes of {@code trajectory}; 0 for memory-mapped views, which are bounded by count.
+     */
+    public static long weightOf(TrajectoryView trajectory) {
+        if (isMapped(trajectory)) {
+            return 0;
+        }
+        return trajectory.size() * BYTES_PER_SAMPLE;
+    }
+
+    private static boolean isMapped(TrajectoryView trajectory) {
+        return trajectory instanceof MappedTrajectory;
+    }
+
+    public synchronized TrajectoryView get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Adds a trajectory and evicts least recently used ones until the cache fits both its byte budget
+     * and its mapped-entry bound. Trajectories that could never fit are not cached.
+     */
+    public synchronized void put(K key, TrajectoryView trajectory) {
+        boolean mapped = isMapped(trajectory);
+        long weight = weightOf(trajectory);
+        if (weight > maxBytes || (mapped && maxMapped == 0)) {
+            return;
+        }
+        TrajectoryView previous = entries.put(key, trajectory);
+        if (previous != null) {
+            forget(previous);
+        }
+        currentBytes += weight;
+        if (mapped) {
+            mappedCount++;
+        }
+
+        Iterator<Map.Entry<K, TrajectoryView>> it = entries.entrySet().iterator();
+        while ((currentBytes > maxBytes || mappedCount > maxMapped) && it.hasNext()) {
+            Map.Entry<K, TrajectoryView> eldest = it.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            boolean overBound = isMapped(eldest.getValue()) ? mappedCount > maxMapped : currentBytes > maxBytes;
+            if (overBound) {
+                forget(eldest.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    private void forget(TrajectoryView trajectory) {
+        currentBytes -= weightOf(trajectory);
+        if (isMapped(trajectory)) {
+            mappedCount--;
+        }
+    }
+
+    public synchronized void remove(K key) {
+        TrajectoryView removed = entries.remove(key);
+        if (removed != null) {
+            forget(removed);
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        currentBytes = 0;
+        mappedCount = 0;
+    }
+
+    public synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized int getMappedCount() {
+        return mappedCount;
+    }
+
+    public int getMaxMapped() {
+        return maxMapped;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.data;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Gson 适配器: 以 [{time, pv, setpoint, output}, ...] 的形式读写轨迹,
+ * 与原先 List&lt;DataPoint&gt; 的 JSON 格式保持兼容, 读写过程中不创建中间对象。
+ */
+public class TrajectoryJsonAdapter extends TypeAdapter<TrajectoryView> {
+
+    @Override
+    public void write(JsonWriter out, TrajectoryView value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (int i = 0; i < value.size(); i++) {
+            out.beginObject();
+            out.name("time").value(value.time(i));
+            out.name("pv").value(value.pv(i));
+            out.name("setpoint").value(value.setpoint(i));
+            out.name("output").value(value.output(i));
+            out.endObject();
+        }
+        out.endArray();
+    }
+
+    @Override
+    public TrajectoryView read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Trajectory trajectory = new Trajectory();
+        in.beginArray();
+        while (in.hasNext()) {
+            double time = 0, pv = 0, setpoint = 0, output = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "time" -> time = in.nextDouble();
+                    case "pv" -> pv = in.nextDouble();
+                    case "setpoint" -> setpoint = in.nextDouble();
+                    case "output" -> output = in.nextDouble();
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            trajectory.add(time, pv, setpoint, output);
+        }
+        in.endArray();
+        return trajectory;
+    }
+}
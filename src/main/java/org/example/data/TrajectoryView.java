@@ -0,0 +1,31 @@
+package org.example.data;
+
+/**
+ * 只读的运行轨迹视图, 按列访问 time / pv / setpoint / output
+ * 通过下标读取原始 double 值, 不生成 {@link DataPoint} 对象。
+ */
+public interface TrajectoryView {
+
+    int size();
+
+    double time(int index);
+
+    double pv(int index);
+
+    double setpoint(int index);
+
+    double output(int index);
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Copies {@code length} PV samples starting at {@code from} into {@code dst}.
+     */
+    default void copyPv(int from, double[] dst, int dstPos, int length) {
+        for (int i = 0; i < length; i++) {
+            dst[dstPos + i] = pv(from + i);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR 事件: 继电器自整定完成一个振荡周期 (瞬时事件, 周期和幅值为仿真量)
+ */
+@Name("org.example.AutoTuneCycle")
+@Label("Auto-Tune Relay Cycle")
+@Category({ "Control Visualizer", "Auto-Tune" })
+@Description("One full relay oscillation observed by the auto-tuner")
+@StackTrace(false)
+public class AutoTuneCycleEvent extends Event {
+    @Label("Cycle")
+    public int cycle;
+
+    @Label("Period")
+    @Description("Oscillation period in simulated seconds")
+    public double period;
+
+    @Label("Amplitude")
+    @Description("Mean peak deviation from the setpoint over the cycle")
+    public double amplitude;
+
+    @Label("Simulation Time")
+    public double simulationTime;
+}
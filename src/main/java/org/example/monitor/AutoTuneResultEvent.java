@@ -0,0 +1,43 @@
+package org.example.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR 事件: 自整定结束, 持续时间为 Ku / Tu 与新增益的计算耗时
+ */
+@Name("org.example.AutoTuneResult")
+@Label("Auto-Tune Result")
+@Category({ "Control Visualizer", "Auto-Tune" })
+@Description("Ku/Tu computation at the end of a relay auto-tune")
+public class AutoTuneResultEvent extends Event {
+    @Label("Success")
+    public boolean success;
+
+    @Label("Rule")
+    public String rule;
+
+    @Label("Half Cycles")
+    public int halfCycles;
+
+    @Label("Ultimate Gain")
+    public double ultimateGain;
+
+    @Label("Ultimate Period")
+    public double ultimatePeriod;
+
+    @Label("Kp")
+    public double kp;
+
+    @Label("Ki")
+    public double ki;
+
+    @Label("Kd")
+    public double kd;
+
+    @Label("Message")
+    public String message;
+}
@@ -0,0 +1,31 @@
+package org.example.monitor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 直方图快照 (单位: 纳秒)
+ */
+public record HistogramSnapshot(long count, long min, double mean, long p50, long p90, long p99, long p999,
+        long max) {
+
+    /** Flat view for JMX clients, which cannot map records. */
+    public Map<String, Long> toMap() {
+        Map<String, Long> map = new LinkedHashMap<>();
+        map.put("count", count);
+        map.put("min", min);
+        map.put("mean", Math.round(mean));
+        map.put("p50", p50);
+        map.put("p90", p90);
+        map.put("p99", p99);
+        map.put("p999", p999);
+        map.put("max", max);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus", count, p50 / 1e3, p99 / 1e3,
+                p999 / 1e3, max / 1e3);
+    }
+}
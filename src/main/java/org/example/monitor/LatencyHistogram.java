@@ -0,0 +1,126 @@
+package org.example.monitor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 对数-线性 (HDR 风格) 延迟直方图
+ * 每个 2 的幂区间再线性分成 32 个子桶, 相对误差不超过 1/32, 覆盖 0 .. Long.MAX_VALUE 纳秒。
+ * 桶数组预分配, {@link #record} 不分配对象也不加锁, 可从任意线程调用; 快照可从任意线程读取。
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Adds one value; negative values are recorded as zero.
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(indexOf(v));
+        count.incrementAndGet();
+        sum.addAndGet(v);
+        long currentMax = max.get();
+        while (v > currentMax && !max.compareAndSet(currentMax, v)) {
+            currentMax = max.get();
+        }
+        long currentMin = min.get();
+        while (v < currentMin && !min.compareAndSet(currentMin, v)) {
+            currentMin = min.get();
+        }
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        int sub = (int) (value >>> shift) - SUB_COUNT;
+        return (shift + 1) * SUB_COUNT + sub;
+    }
+
+    /** Highest value that maps to bucket {@code index}. */
+    static long upperBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_COUNT - 1;
+        long lower = (long) (SUB_COUNT + index % SUB_COUNT) << shift;
+        return lower + ((1L << shift) - 1);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Value at percentile {@code p} (0..100), reported as the upper bound of its bucket.
+     */
+    public long valueAtPercentile(double p) {
+        long[] copy = new long[BUCKETS];
+        long total = copyCounts(copy);
+        return percentile(copy, total, p, max.get());
+    }
+
+    /**
+     * Consistent enough copy for reporting; values recorded concurrently may or may not be included.
+     */
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long total = copyCounts(copy);
+        long lowest = total == 0 ? 0 : min.get();
+        long highest = max.get();
+        double mean = total == 0 ? 0 : (double) sum.get() / count.get();
+        return new HistogramSnapshot(total, lowest, mean,
+                percentile(copy, total, 50, highest), percentile(copy, total, 90, highest),
+                percentile(copy, total, 99, highest), percentile(copy, total, 99.9, highest), highest);
+    }
+
+    private long copyCounts(long[] copy) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        return total;
+    }
+
+    private static long percentile(long[] buckets, long total, double p, long highest) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * total));
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulative += buckets[i];
+            if (cumulative >= rank) {
+                return Math.min(upperBound(i), highest);
+            }
+        }
+        return highest;
+    }
+
+    /**
+     * Clears all counts. Values recorded while this runs may be partly lost.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        min.set(Long.MAX_VALUE);
+        max.set(0);
+    }
+}
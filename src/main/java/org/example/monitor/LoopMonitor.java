@@ -0,0 +1,225 @@
+package org.example.monitor;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.google.gson.Gson;
+
+/**
+ * 仿真回路运行监控
+ * 记录 calculate / update 耗时、节拍迟到时间、EDT 发布到渲染的延迟, 以及步数吞吐量。
+ * 记录路径只有计数和 CAS, 不分配对象; 未设置监控器时, 仿真循环不做任何计时。
+ * 数据可通过 JMX 查看, 也可按固定周期以 JSON 行追加写入文件。
+ */
+public final class LoopMonitor implements LoopMonitorMXBean {
+    public static final String OBJECT_NAME = "org.example:type=LoopMonitor";
+
+    private final LatencyHistogram calculateNanos = new LatencyHistogram();
+    private final LatencyHistogram updateNanos = new LatencyHistogram();
+    private final LatencyHistogram tickLatenessNanos = new LatencyHistogram();
+    private final LatencyHistogram renderLatencyNanos = new LatencyHistogram();
+    private final AtomicLong steps = new AtomicLong();
+    private final AtomicLong dumpFailures = new AtomicLong();
+    private final Gson gson = new Gson();
+
+    // Guarded by this. Snapshots and JMX reads each measure the rate since their own previous call
+    private final RateWindow snapshotRate = new RateWindow();
+    private final RateWindow jmxRate = new RateWindow();
+    private ScheduledExecutorService dumper;
+
+    public void recordCalculate(long nanos) {
+        calculateNanos.record(nanos);
+    }
+
+    public void recordUpdate(long nanos) {
+        updateNanos.record(nanos);
+    }
+
+    public void recordTickLateness(long nanos) {
+        tickLatenessNanos.record(nanos);
+    }
+
+    public void recordRenderLatency(long nanos) {
+        renderLatencyNanos.record(nanos);
+    }
+
+    public void recordStep() {
+        steps.incrementAndGet();
+    }
+
+    public LatencyHistogram getCalculateHistogram() {
+        return calculateNanos;
+    }
+
+    public LatencyHistogram getUpdateHistogram() {
+        return updateNanos;
+    }
+
+    public LatencyHistogram getTickLatenessHistogram() {
+        return tickLatenessNanos;
+    }
+
+    public LatencyHistogram getRenderLatencyHistogram() {
+        return renderLatencyNanos;
+    }
+
+    /**
+     * Current statistics; the step rate covers the time since the previous snapshot.
+     */
+    public synchronized MonitorSnapshot snapshot() {
+        long total = steps.get();
+        double stepsPerSecond = snapshotRate.advance(total, System.nanoTime());
+        return new MonitorSnapshot(System.currentTimeMillis(), total, stepsPerSecond, calculateNanos.snapshot(),
+                updateNanos.snapshot(), tickLatenessNanos.snapshot(), renderLatencyNanos.snapshot());
+    }
+
+    /**
+     * Appends the current snapshot to {@code file} as one JSON line.
+     */
+    public void writeSnapshot(Path file) throws IOException {
+        Files.writeString(file, gson.toJson(snapshot()) + System.lineSeparator(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Writes a snapshot to {@code file} every {@code periodSeconds} on a daemon thread, replacing any
+     * earlier schedule.
+     */
+    public synchronized void startSnapshotDump(Path file, long periodSeconds) {
+        if (periodSeconds <= 0) {
+            throw new IllegalArgumentException("Dump period must be positive: " + periodSeconds);
+        }
+        stopSnapshotDump();
+        dumpFailures.set(0);
+        dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "loop-monitor-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> {
+            try {
+                writeSnapshot(file);
+            } catch (IOException e) {
+                // Keep the schedule; the next period retries
+                dumpFailures.incrementAndGet();
+            }
+        }, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stopSnapshotDump() {
+        if (dumper != null) {
+            dumper.shutdownNow();
+            dumper = null;
+        }
+    }
+
+    /**
+     * Registers this monitor with the platform MBean server under {@link #OBJECT_NAME}.
+     *
+     * @return false if the name is taken or JMX is unavailable
+     */
+    public boolean registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                return false;
+            }
+            server.registerMBean(this, name);
+            return true;
+        } catch (JMException | SecurityException e) {
+            return false;
+        }
+    }
+
+    // ---------------- JMX ----------------
+
+    @Override
+    public long getTotalSteps() {
+        return steps.get();
+    }
+
+    @Override
+    public synchronized double getStepsPerSecond() {
+        return jmxRate.advance(steps.get(), System.nanoTime());
+    }
+
+    @Override
+    public long getDumpFailures() {
+        return dumpFailures.get();
+    }
+
+    @Override
+    public Map<String, Long> getCalculateLatency() {
+        return calculateNanos.snapshot().toMap();
+    }
+
+    @Override
+    public Map<String, Long> getUpdateLatency() {
+        return updateNanos.snapshot().toMap();
+    }
+
+    @Override
+    public Map<String, Long> getTickLateness() {
+        return tickLatenessNanos.snapshot().toMap();
+    }
+
+    @Override
+    public Map<String, Long> getRenderLatency() {
+        return renderLatencyNanos.snapshot().toMap();
+    }
+
+    @Override
+    public synchronized void reset() {
+        calculateNanos.reset();
+        updateNanos.reset();
+        tickLatenessNanos.reset();
+        renderLatencyNanos.reset();
+        steps.set(0);
+        long now = System.nanoTime();
+        snapshotRate.reset(now);
+        jmxRate.reset(now);
+    }
+
+    @Override
+    public String dumpSnapshot(String path) throws IOException {
+        Path file = Path.of(path).toAbsolutePath();
+        writeSnapshot(file);
+        return file.toString();
+    }
+
+    /** Steps per second between successive reads by one consumer. */
+    private static final class RateWindow {
+        private long steps;
+        private long nanos = System.nanoTime();
+        private double stepsPerSecond;
+
+        double advance(long total, long now) {
+            if (now > nanos) {
+                stepsPerSecond = (total - steps) * 1e9 / (now - nanos);
+            }
+            steps = total;
+            nanos = now;
+            return stepsPerSecond;
+        }
+
+        void reset(long now) {
+            steps = 0;
+            nanos = now;
+            stepsPerSecond = 0;
+        }
+    }
+}
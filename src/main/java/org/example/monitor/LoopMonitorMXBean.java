@@ -0,0 +1,32 @@
+package org.example.monitor;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * JMX 管理接口, 注册名见 {@link LoopMonitor#OBJECT_NAME}
+ */
+public interface LoopMonitorMXBean {
+
+    long getTotalSteps();
+
+    /** Steps per second since this attribute was last read; independent of file snapshots. */
+    double getStepsPerSecond();
+
+    /** Periodic snapshot writes that failed since the dump was started. */
+    long getDumpFailures();
+
+    /** count, min, mean, p50, p90, p99, p999 and max of ControlAlgorithm.calculate, in ns. */
+    Map<String, Long> getCalculateLatency();
+
+    Map<String, Long> getUpdateLatency();
+
+    Map<String, Long> getTickLateness();
+
+    Map<String, Long> getRenderLatency();
+
+    void reset();
+
+    /** Appends one snapshot line to {@code path} and returns the path written. */
+    String dumpSnapshot(String path) throws IOException;
+}
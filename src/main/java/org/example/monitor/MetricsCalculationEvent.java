@@ -0,0 +1,19 @@
+package org.example.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR 事件: 对整条轨迹计算性能指标
+ */
+@Name("org.example.MetricsCalculation")
+@Label("Metrics Calculation")
+@Category({ "Control Visualizer", "Analysis" })
+@Description("Performance metrics computed over a stored trajectory")
+public class MetricsCalculationEvent extends Event {
+    @Label("Samples")
+    public int samples;
+}
@@ -0,0 +1,16 @@
+package org.example.monitor;
+
+/**
+ * 某一时刻的仿真回路监控数据, 延迟单位为纳秒
+ *
+ * @param stepsPerSecond plant steps per wall-clock second since the previous snapshot
+ */
+public record MonitorSnapshot(
+        long timestampMillis,
+        long totalSteps,
+        double stepsPerSecond,
+        HistogramSnapshot calculate,
+        HistogramSnapshot update,
+        HistogramSnapshot tickLateness,
+        HistogramSnapshot renderLatency) {
+}
@@ -0,0 +1,37 @@
+package org.example.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR 事件: 运行记录文件的保存或加载
+ */
+@Name("org.example.RunFile")
+@Label("Run File I/O")
+@Category({ "Control Visualizer", "I/O" })
+@Description("Saving or loading runs in the run manager")
+public class RunFileEvent extends Event {
+    @Label("Operation")
+    @Description("save or load")
+    public String operation;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Format")
+    public String format;
+
+    @Label("Runs")
+    public int runs;
+
+    @Label("File Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Success")
+    public boolean success;
+}
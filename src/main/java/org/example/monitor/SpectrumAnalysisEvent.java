@@ -0,0 +1,30 @@
+package org.example.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR 事件: Welch 谱估计 (FFT), 对整条轨迹一次完成, 或实时模式下每次有新段时刷新
+ */
+@Name("org.example.SpectrumAnalysis")
+@Label("Spectrum Analysis")
+@Category({ "Control Visualizer", "Analysis" })
+@Description("Welch power spectral density estimate of a trajectory")
+public class SpectrumAnalysisEvent extends Event {
+    @Label("Samples")
+    public int samples;
+
+    @Label("Segment Length")
+    public int segmentLength;
+
+    @Label("Segments")
+    @Description("Number of FFTs computed")
+    public int segments;
+
+    @Label("Live")
+    @Description("Refresh of the live spectrum rather than a whole-trajectory estimate")
+    public boolean live;
+}
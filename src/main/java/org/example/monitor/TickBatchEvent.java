@@ -0,0 +1,82 @@
+package org.example.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import org.example.sim.TickScheduler;
+
+/**
+ * JFR 事件: 一批连续的仿真步, 持续时间为这批步的墙钟耗时
+ */
+@Name("org.example.TickBatch")
+@Label("Tick Batch")
+@Category({ "Control Visualizer", "Simulation" })
+@Description("A batch of consecutive simulation steps")
+@StackTrace(false)
+public class TickBatchEvent extends Event {
+    /** Steps per event; small enough to localise a stall, large enough to stay cheap. */
+    public static final int BATCH_STEPS = 64;
+
+    @Label("First Step")
+    long firstStep;
+
+    @Label("Steps")
+    int steps;
+
+    @Label("Simulation Time")
+    @Description("Simulated time at the end of the batch, in seconds")
+    double simulationTime;
+
+    @Label("Max Tick Lateness")
+    @Timespan(Timespan.NANOSECONDS)
+    long maxLateness;
+
+    @Label("Overruns")
+    @Description("Ticks in the batch that started more than one period late")
+    long overruns;
+
+    private transient long overrunsAtStart;
+
+    /**
+     * Commits {@code current} (may be null) and begins the next batch if the event is enabled.
+     *
+     * @return the new batch, or null while recording of this event is off
+     */
+    public static TickBatchEvent next(TickBatchEvent current, long step, double time, TickScheduler ticks) {
+        if (current != null) {
+            current.finish(step, time, ticks);
+        }
+        TickBatchEvent batch = new TickBatchEvent();
+        if (!batch.isEnabled()) {
+            return null;
+        }
+        batch.firstStep = step + 1;
+        batch.overrunsAtStart = ticks != null ? ticks.getOverruns() : 0;
+        batch.begin();
+        return batch;
+    }
+
+    public void onStep(TickScheduler ticks) {
+        steps++;
+        if (ticks != null && ticks.getLastLatenessNanos() > maxLateness) {
+            maxLateness = ticks.getLastLatenessNanos();
+        }
+    }
+
+    /**
+     * Ends and commits this batch after {@code step}.
+     */
+    public void finish(long step, double time, TickScheduler ticks) {
+        end();
+        if (shouldCommit()) {
+            simulationTime = time;
+            overruns = ticks != null ? ticks.getOverruns() - overrunsAtStart : 0;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.plant;
+
+import java.util.Arrays;
+
+/**
+ * 批量一阶惯性系统 (结构数组形式)
+ * N 个 {@link FirstOrderPlant} 的状态、增益和时间常数分别存放在连续的 double[] 中,
+ * 每步用一个简单循环推进全部对象, 便于 JIT 自动向量化。
+ * <p>
+ * The update uses a precomputed dt/T per plant, so results can differ from the scalar plant
+ * in the last bits.
+ */
+public class BatchFirstOrderPlant {
+    private final double[] state;
+    private final double[] gain;
+    private final double[] timeConstant;
+    private final double[] dtOverT;
+    private final double dt;
+
+    public BatchFirstOrderPlant(double[] timeConstants, double[] gains, double dt) {
+        if (timeConstants.length != gains.length) {
+            throw new IllegalArgumentException("Time constant and gain arrays differ in length");
+        }
+        int n = timeConstants.length;
+        this.state = new double[n];
+        this.gain = gains.clone();
+        this.timeConstant = timeConstants.clone();
+        this.dtOverT = new double[n];
+        this.dt = dt;
+        for (int i = 0; i < n; i++) {
+            dtOverT[i] = dt / timeConstants[i];
+        }
+    }
+
+    /**
+     * 执行一次批量仿真步进
+     *
+     * @param inputs one control input per plant
+     */
+    public void update(double[] inputs) {
+        double[] x = state;
+        double[] k = gain;
+        double[] a = dtOverT;
+        int n = x.length;
+        for (int i = 0; i < n; i++) {
+            // x(k+1) = x(k) + dt*(-x(k) + K*u)/T
+            x[i] = x[i] + a[i] * (-x[i] + k[i] * inputs[i]);
+        }
+    }
+
+    /**
+     * Current states. The returned array is the live storage and must not be modified.
+     */
+    public double[] getStates() {
+        return state;
+    }
+
+    public double getState(int index) {
+        return state[index];
+    }
+
+    public double getGain(int index) {
+        return gain[index];
+    }
+
+    public double getTimeConstant(int index) {
+        return timeConstant[index];
+    }
+
+    public double getDt() {
+        return dt;
+    }
+
+    public int size() {
+        return state.length;
+    }
+
+    public void reset() {
+        Arrays.fill(state, 0.0);
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.plant;
+
+import java.util.Arrays;
+
+/**
+ * 纯滞后 (传输延迟) 包装器
+ * 控制输入先经过预分配的环形 double[] 延迟线, 再送入被包装的对象。
+ * 延迟不是步长的整数倍时, 在相邻两个采样之间线性插值。每步 O(1) 且不分配对象。
+ * 内部对象为 {@link LinearPlant} 时, 频率响应为 G(jω) e^(-jωL);
+ * 否则 {@link #isLinear()} 为 false, 调用方须先检查, 传递函数方法此时抛出 IllegalStateException。
+ */
+public class DelayedPlant implements LinearPlant {
+    private final Plant inner;
+    private final double deadTime;
+    private final int wholeSamples;
+    private final double fraction;
+    private final double[] line;
+    private int head = 0; // slot of the most recent input
+
+    /**
+     * @param inner    the delay-free process
+     * @param deadTime transport delay in seconds
+     * @param dt       step size of {@code inner}
+     */
+    public DelayedPlant(Plant inner, double deadTime, double dt) {
+        if (deadTime < 0) {
+            throw new IllegalArgumentException("Dead time must not be negative: " + deadTime);
+        }
+        double samples = deadTime / dt;
+        // Snap values that are integral up to rounding so e.g. 0.3 / 0.05 does not interpolate
+        double rounded = Math.rint(samples);
+        if (Math.abs(samples - rounded) < 1e-9) {
+            samples = rounded;
+        }
+        this.inner = inner;
+        this.deadTime = deadTime;
+        this.wholeSamples = (int) Math.floor(samples);
+        this.fraction = samples - wholeSamples;
+        this.line = new double[wholeSamples + 2];
+    }
+
+    /**
+     * First order plus dead time: K e^(-Ls) / (T s + 1)
+     */
+    public static DelayedPlant firstOrderPlusDeadTime(double timeConstant, double gain, double deadTime, double dt) {
+        return new DelayedPlant(StateSpacePlant.firstOrder(timeConstant, gain, dt), deadTime, dt);
+    }
+
+    /**
+     * Second order plus dead time: K e^(-Ls) / ((T1 s + 1)(T2 s + 1))
+     */
+    public static DelayedPlant secondOrderPlusDeadTime(double t1, double t2, double gain, double deadTime,
+            double dt) {
+        return new DelayedPlant(StateSpacePlant.secondOrderLag(t1, t2, gain, dt), deadTime, dt);
+    }
+
+    @Override
+    public double update(double input) {
+        head = head + 1 == line.length ? 0 : head + 1;
+        line[head] = input;
+        return inner.update(delayedInput());
+    }
+
+    private double delayedInput() {
+        int length = line.length;
+        int newer = head - wholeSamples;
+        if (newer < 0) {
+            newer += length;
+        }
+        if (fraction == 0.0) {
+            return line[newer];
+        }
+        int older = newer == 0 ? length - 1 : newer - 1;
+        return (1.0 - fraction) * line[newer] + fraction * line[older];
+    }
+
+    @Override
+    public boolean isLinear() {
+        return inner instanceof LinearPlant && ((LinearPlant) inner).isLinear();
+    }
+
+    /**
+     * G(jω) e^(-jωL).
+     *
+     * @throws IllegalStateException if {@link #isLinear()} is false
+     */
+    @Override
+    public void frequencyResponse(double omega, double[] out) {
+        if (!isLinear()) {
+            throw new IllegalStateException(inner.getName() + " has no transfer function");
+        }
+        ((LinearPlant) inner).frequencyResponse(omega, out);
+        double re = out[0];
+        double im = out[1];
+        double cos = Math.cos(omega * deadTime);
+        double sin = Math.sin(omega * deadTime);
+        out[0] = re * cos + im * sin;
+        out[1] = im * cos - re * sin;
+    }
+
+    /**
+     * Inner model times z^-w ((1 - f) + f z^-1), matching the interpolated delay line.
+     *
+     * @throws IllegalStateException if {@link #isLinear()} is false
+     */
+    @Override
+    public PulseTransferFunction pulseTransferFunction() {
+        if (!isLinear()) {
+            throw new IllegalStateException(inner.getName() + " has no transfer function");
+        }
+        double[] delay = new double[wholeSamples + 2];
+        delay[wholeSamples] = 1.0 - fraction;
+        delay[wholeSamples + 1] = fraction;
+        return new PulseTransferFunction(delay, new double[] { 1.0 })
+                .then(((LinearPlant) inner).pulseTransferFunction());
+    }
+
+    @Override
+    public double getState() {
+        return inner.getState();
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(line, 0.0);
+        head = 0;
+        inner.reset();
+    }
+
+    @Override
+    public String getName() {
+        return String.format("%s + Dead Time %.2f s", inner.getName(), deadTime);
+    }
+
+    public Plant getInner() {
+        return inner;
+    }
+
+    public double getDeadTime() {
+        return deadTime;
+    }
+}
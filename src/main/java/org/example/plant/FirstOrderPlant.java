@@ -4,7 +4,7 @@ package org.example.plant;
  * 一阶惯性系统实现A
  * 标准被控对象模型
  */
-public class FirstOrderPlant implements Plant {
+public class FirstOrderPlant implements LinearPlant {
     private double state = 0;
     private final double timeConstant; // 时间常数
     private final double gain; // 系统增益
@@ -23,6 +23,22 @@ public class FirstOrderPlant implements Plant {
         return state;
     }
 
+    @Override
+    public void frequencyResponse(double omega, double[] out) {
+        // G(jω) = K / (1 + jωT)
+        double wt = omega * timeConstant;
+        double denominator = 1.0 + wt * wt;
+        out[0] = gain / denominator;
+        out[1] = -gain * wt / denominator;
+    }
+
+    @Override
+    public PulseTransferFunction pulseTransferFunction() {
+        // y(k) = (1 - dt/T) y(k-1) + (K dt/T) u(k)
+        return new PulseTransferFunction(new double[] { gain * dt / timeConstant },
+                new double[] { 1.0, -(1.0 - dt / timeConstant) });
+    }
+
     @Override
     public double getState() {
         return state;
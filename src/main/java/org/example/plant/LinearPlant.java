@@ -0,0 +1,29 @@
+package org.example.plant;
+
+/**
+ * 线性时不变被控对象
+ * 提供连续传递函数 G(s) 在 s = jω 处的取值, 以及与离散步进一致的脉冲传递函数,
+ * 供频域分析和闭环响应直接计算而无需仿真。
+ */
+public interface LinearPlant extends Plant {
+
+    /**
+     * Writes G(jω) into {@code out[0]} (real part) and {@code out[1]} (imaginary part).
+     *
+     * @param omega angular frequency in rad/s
+     */
+    void frequencyResponse(double omega, double[] out);
+
+    /**
+     * The exact discrete model stepped by {@link #update}, at the plant's own step size.
+     */
+    PulseTransferFunction pulseTransferFunction();
+
+    /**
+     * False for wrappers whose inner plant has no known transfer function. Callers must check this before
+     * using the transfer function methods, which then throw {@link IllegalStateException}.
+     */
+    default boolean isLinear() {
+        return true;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.plant;
+
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.MatrixUtils;
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * 矩阵指数 (Padé 近似 + 缩放平方法), 仅用于离散化, 不在仿真步进中调用
+ */
+final class MatrixExponential {
+    // Padé(6,6) coefficients
+    private static final double[] PADE = {
+            1.0, 0.5, 5.0 / 44.0, 1.0 / 66.0, 1.0 / 792.0, 1.0 / 15840.0, 1.0 / 665280.0 };
+
+    private MatrixExponential() {
+    }
+
+    static RealMatrix exp(RealMatrix m) {
+        int n = m.getRowDimension();
+        double norm = m.getNorm(); // max column sum
+        int squarings = Math.max(0, (int) Math.ceil(Math.log(norm / 0.5) / Math.log(2)));
+        RealMatrix a = m.scalarMultiply(1.0 / Math.pow(2, squarings));
+
+        RealMatrix identity = MatrixUtils.createRealIdentityMatrix(n);
+        RealMatrix numerator = identity.scalarMultiply(PADE[0]);
+        RealMatrix denominator = identity.scalarMultiply(PADE[0]);
+        RealMatrix power = identity;
+        for (int k = 1; k < PADE.length; k++) {
+            power = power.multiply(a);
+            RealMatrix term = power.scalarMultiply(PADE[k]);
+            numerator = numerator.add(term);
+            denominator = (k % 2 == 0) ? denominator.add(term) : denominator.subtract(term);
+        }
+
+        RealMatrix result = new LUDecomposition(denominator).getSolver().solve(numerator);
+        for (int i = 0; i < squarings; i++) {
+            result = result.multiply(result);
+        }
+        return result;
+    }
+}
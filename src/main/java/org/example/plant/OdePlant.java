@@ -0,0 +1,210 @@
+package org.example.plant;
+
+/**
+ * 非线性常微分方程被控对象
+ * 用户给出导数函数 dx/dt = f(t, x, u), 在两个控制采样时刻之间用嵌入式 Runge-Kutta
+ * (Dormand-Prince 5(4)) 方法积分, 根据局部误差自适应调整步长。控制输入在采样周期内保持不变 (ZOH)。
+ * 各级斜率缓冲区在构造时分配, 积分过程中不再分配对象。
+ */
+public class OdePlant implements Plant {
+
+    /**
+     * Right-hand side of the ODE. Implementations write the derivative into {@code dxdt}
+     * and must not keep references to the arrays.
+     */
+    @FunctionalInterface
+    public interface Dynamics {
+        void derivative(double t, double[] x, double u, double[] dxdt);
+    }
+
+    /**
+     * Maps the state vector to the process variable.
+     */
+    @FunctionalInterface
+    public interface Output {
+        double value(double[] x);
+    }
+
+    // Dormand-Prince 5(4) tableau
+    private static final double C2 = 1.0 / 5, C3 = 3.0 / 10, C4 = 4.0 / 5, C5 = 8.0 / 9;
+    private static final double A21 = 1.0 / 5;
+    private static final double A31 = 3.0 / 40, A32 = 9.0 / 40;
+    private static final double A41 = 44.0 / 45, A42 = -56.0 / 15, A43 = 32.0 / 9;
+    private static final double A51 = 19372.0 / 6561, A52 = -25360.0 / 2187, A53 = 64448.0 / 6561,
+            A54 = -212.0 / 729;
+    private static final double A61 = 9017.0 / 3168, A62 = -355.0 / 33, A63 = 46732.0 / 5247, A64 = 49.0 / 176,
+            A65 = -5103.0 / 18656;
+    private static final double B1 = 35.0 / 384, B3 = 500.0 / 1113, B4 = 125.0 / 192, B5 = -2187.0 / 6784,
+            B6 = 11.0 / 84;
+    // Difference between the 5th and embedded 4th order weights
+    private static final double E1 = 71.0 / 57600, E3 = -71.0 / 16695, E4 = 71.0 / 1920, E5 = -17253.0 / 339200,
+            E6 = 22.0 / 525, E7 = -1.0 / 40;
+
+    private static final double SAFETY = 0.9;
+    private static final double MIN_FACTOR = 0.2;
+    private static final double MAX_FACTOR = 5.0;
+    private static final int MAX_STEPS_PER_INTERVAL = 100_000;
+
+    private final Dynamics dynamics;
+    private final Output output;
+    private final double[] initialState;
+    private final double dt;
+    private final String name;
+    private double relativeTolerance = 1e-6;
+    private double absoluteTolerance = 1e-9;
+
+    private final double[] x;
+    private final double[] k1, k2, k3, k4, k5, k6, k7;
+    private final double[] stage;
+    private final double[] candidate;
+    private double time = 0;
+    private double stepSize;
+    private long acceptedSteps = 0;
+    private long rejectedSteps = 0;
+
+    public OdePlant(Dynamics dynamics, double[] initialState, double dt, String name) {
+        this(dynamics, s -> s[0], initialState, dt, name);
+    }
+
+    public OdePlant(Dynamics dynamics, Output output, double[] initialState, double dt, String name) {
+        int n = initialState.length;
+        this.dynamics = dynamics;
+        this.output = output;
+        this.initialState = initialState.clone();
+        this.dt = dt;
+        this.name = name;
+        this.x = initialState.clone();
+        this.k1 = new double[n];
+        this.k2 = new double[n];
+        this.k3 = new double[n];
+        this.k4 = new double[n];
+        this.k5 = new double[n];
+        this.k6 = new double[n];
+        this.k7 = new double[n];
+        this.stage = new double[n];
+        this.candidate = new double[n];
+        this.stepSize = dt;
+    }
+
+    /**
+     * Gravity-drained tank: A dh/dt = q_in - c √h, with inflow q_in = K u clamped at zero.
+     */
+    public static OdePlant drainedTank(double area, double outflowCoefficient, double inflowGain, double dt) {
+        return new OdePlant((t, s, u, dsdt) -> {
+            double inflow = Math.max(0.0, inflowGain * u);
+            dsdt[0] = (inflow - outflowCoefficient * Math.sqrt(Math.max(s[0], 0.0))) / area;
+        }, new double[] { 0.0 }, dt,
+                String.format("Drained Tank (A=%.1f, c=%.2f, K=%.1f)", area, outflowCoefficient, inflowGain));
+    }
+
+    public void setTolerances(double relativeTolerance, double absoluteTolerance) {
+        this.relativeTolerance = relativeTolerance;
+        this.absoluteTolerance = absoluteTolerance;
+    }
+
+    @Override
+    public double update(double input) {
+        double end = time + dt;
+        double h = stepSize; // proposal carried over from the previous interval
+        dynamics.derivative(time, x, input, k1);
+
+        int attempts = 0;
+        while (time < end) {
+            if (++attempts > MAX_STEPS_PER_INTERVAL) {
+                throw new IllegalStateException("Step size underflow integrating " + name + " at t=" + time);
+            }
+            double remaining = end - time;
+            boolean last = h >= remaining * (1.0 - 1e-12);
+            double step = last ? remaining : h;
+
+            double error = attemptStep(input, step);
+            double factor = error == 0.0 ? MAX_FACTOR
+                    : Math.min(MAX_FACTOR, Math.max(MIN_FACTOR, SAFETY * Math.pow(error, -0.2)));
+            if (error <= 1.0) {
+                time = last ? end : time + step;
+                System.arraycopy(candidate, 0, x, 0, x.length);
+                System.arraycopy(k7, 0, k1, 0, x.length); // first same as last
+                acceptedSteps++;
+                // A step clipped to the interval end says little about the next interval's size
+                h = last ? Math.max(h, step * factor) : step * factor;
+            } else {
+                rejectedSteps++;
+                h = step * factor;
+            }
+        }
+        stepSize = h;
+        return getState();
+    }
+
+    /**
+     * Takes one trial step of size {@code h} from {@link #x} into {@link #candidate}.
+     *
+     * @return the scaled RMS error estimate, accepted when at most 1
+     */
+    private double attemptStep(double u, double h) {
+        int n = x.length;
+        double t = time;
+        for (int i = 0; i < n; i++) {
+            stage[i] = x[i] + h * A21 * k1[i];
+        }
+        dynamics.derivative(t + C2 * h, stage, u, k2);
+        for (int i = 0; i < n; i++) {
+            stage[i] = x[i] + h * (A31 * k1[i] + A32 * k2[i]);
+        }
+        dynamics.derivative(t + C3 * h, stage, u, k3);
+        for (int i = 0; i < n; i++) {
+            stage[i] = x[i] + h * (A41 * k1[i] + A42 * k2[i] + A43 * k3[i]);
+        }
+        dynamics.derivative(t + C4 * h, stage, u, k4);
+        for (int i = 0; i < n; i++) {
+            stage[i] = x[i] + h * (A51 * k1[i] + A52 * k2[i] + A53 * k3[i] + A54 * k4[i]);
+        }
+        dynamics.derivative(t + C5 * h, stage, u, k5);
+        for (int i = 0; i < n; i++) {
+            stage[i] = x[i] + h * (A61 * k1[i] + A62 * k2[i] + A63 * k3[i] + A64 * k4[i] + A65 * k5[i]);
+        }
+        dynamics.derivative(t + h, stage, u, k6);
+        for (int i = 0; i < n; i++) {
+            candidate[i] = x[i] + h * (B1 * k1[i] + B3 * k3[i] + B4 * k4[i] + B5 * k5[i] + B6 * k6[i]);
+        }
+        dynamics.derivative(t + h, candidate, u, k7);
+
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            double err = h * (E1 * k1[i] + E3 * k3[i] + E4 * k4[i] + E5 * k5[i] + E6 * k6[i] + E7 * k7[i]);
+            double scale = absoluteTolerance + relativeTolerance * Math.max(Math.abs(x[i]), Math.abs(candidate[i]));
+            double ratio = err / scale;
+            sum += ratio * ratio;
+        }
+        double error = Math.sqrt(sum / n);
+        return Double.isNaN(error) ? Double.POSITIVE_INFINITY : error;
+    }
+
+    @Override
+    public double getState() {
+        return output.value(x);
+    }
+
+    @Override
+    public void reset() {
+        System.arraycopy(initialState, 0, x, 0, x.length);
+        time = 0;
+        stepSize = dt;
+        acceptedSteps = 0;
+        rejectedSteps = 0;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /** Integration steps accepted since the last reset, across all sample intervals. */
+    public long getAcceptedSteps() {
+        return acceptedSteps;
+    }
+
+    public long getRejectedSteps() {
+        return rejectedSteps;
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.plant;
+
+import java.util.Arrays;
+
+/**
+ * 离散脉冲传递函数 H(z) = N(z⁻¹) / D(z⁻¹)
+ * 与 {@link Plant#update} 的步进语义一致: 第 k 步的输出已包含第 k 步的输入 (numerator[0] 为直通项),
+ * 即 y(k) = Σ numerator[j] u(k-j) - Σ(j≥1) denominator[j] y(k-j)。分母已归一化为 denominator[0] = 1。
+ */
+public record PulseTransferFunction(double[] numerator, double[] denominator) {
+
+    public PulseTransferFunction {
+        if (numerator.length == 0 || denominator.length == 0 || denominator[0] == 0.0) {
+            throw new IllegalArgumentException("Denominator must have a non-zero leading coefficient");
+        }
+        double lead = denominator[0];
+        numerator = scale(numerator, 1.0 / lead);
+        denominator = scale(denominator, 1.0 / lead);
+    }
+
+    /**
+     * Series connection of this system followed by {@code other}.
+     */
+    public PulseTransferFunction then(PulseTransferFunction other) {
+        return new PulseTransferFunction(multiply(numerator, other.numerator),
+                multiply(denominator, other.denominator));
+    }
+
+    /**
+     * Product of two polynomials in z⁻¹, coefficients in ascending powers.
+     */
+    public static double[] multiply(double[] a, double[] b) {
+        double[] result = new double[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == 0.0) {
+                continue;
+            }
+            for (int j = 0; j < b.length; j++) {
+                result[i + j] += a[i] * b[j];
+            }
+        }
+        return result;
+    }
+
+    private static double[] scale(double[] coefficients, double factor) {
+        double[] result = coefficients.clone();
+        for (int i = 0; i < result.length; i++) {
+            result[i] *= factor;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "PulseTransferFunction[numerator=" + Arrays.toString(numerator) + ", denominator="
+                + Arrays.toString(denominator) + "]";
+    }
+}
@@ -0,0 +1,333 @@
+package org.example.plant;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.linear.MatrixUtils;
+import org.apache.commons.math3.linear.RealMatrix;
+
+/**
+ * 线性状态空间被控对象 (单输入单输出)
+ * 连续模型 dx/dt = A x + B u, y = C x + D u 在构造时用矩阵指数做一次零阶保持 (ZOH) 离散化,
+ * 之后每步只做一次无分配的矩阵-向量乘法。在输入分段恒定的前提下结果是精确的, 与步长无关。
+ */
+public class StateSpacePlant implements LinearPlant {
+    private final double[][] a;
+    private final double[] b;
+    private final double[] c;
+    private final double d;
+    private final double dt;
+    private final String name;
+
+    // Discretized model, flattened row-major for the hot loop
+    private final double[] ad;
+    private final double[] bd;
+    private final int n;
+
+    private final double[] x;
+    private final double[] next;
+    private double output = 0;
+
+    // Scratch for frequencyResponse: (jωI - A) and the solution, complex parts kept separately
+    private final double[] sRe;
+    private final double[] sIm;
+    private final double[] zRe;
+    private final double[] zIm;
+
+    public StateSpacePlant(double[][] a, double[] b, double[] c, double d, double dt) {
+        this(a, b, c, d, dt, null);
+    }
+
+    public StateSpacePlant(double[][] a, double[] b, double[] c, double d, double dt, String name) {
+        this.n = a.length;
+        if (b.length != n || c.length != n) {
+            throw new IllegalArgumentException("B and C must have one entry per state");
+        }
+        for (double[] row : a) {
+            if (row.length != n) {
+                throw new IllegalArgumentException("A must be square");
+            }
+        }
+        this.a = copy(a);
+        this.b = b.clone();
+        this.c = c.clone();
+        this.d = d;
+        this.dt = dt;
+        this.name = name != null ? name : String.format("State-space (n=%d)", n);
+
+        // exp([[A, B], [0, 0]] * dt) = [[Ad, Bd], [0, 1]]
+        RealMatrix augmented = MatrixUtils.createRealMatrix(n + 1, n + 1);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                augmented.setEntry(i, j, a[i][j] * dt);
+            }
+            augmented.setEntry(i, n, b[i] * dt);
+        }
+        RealMatrix phi = MatrixExponential.exp(augmented);
+        this.ad = new double[n * n];
+        this.bd = new double[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                ad[i * n + j] = phi.getEntry(i, j);
+            }
+            bd[i] = phi.getEntry(i, n);
+        }
+
+        this.x = new double[n];
+        this.next = new double[n];
+        this.sRe = new double[n * n];
+        this.sIm = new double[n * n];
+        this.zRe = new double[n];
+        this.zIm = new double[n];
+    }
+
+    /**
+     * K / (T s + 1)
+     */
+    public static StateSpacePlant firstOrder(double timeConstant, double gain, double dt) {
+        return new StateSpacePlant(new double[][] { { -1.0 / timeConstant } }, new double[] { gain / timeConstant },
+                new double[] { 1.0 }, 0.0, dt, String.format("1st Order ZOH (T=%.1f, K=%.1f)", timeConstant, gain));
+    }
+
+    /**
+     * K ωn² / (s² + 2ζωn s + ωn²)
+     */
+    public static StateSpacePlant secondOrder(double naturalFrequency, double damping, double gain, double dt) {
+        double wn2 = naturalFrequency * naturalFrequency;
+        return new StateSpacePlant(
+                new double[][] { { 0.0, 1.0 }, { -wn2, -2.0 * damping * naturalFrequency } },
+                new double[] { 0.0, gain * wn2 }, new double[] { 1.0, 0.0 }, 0.0, dt,
+                String.format("2nd Order (wn=%.2f, zeta=%.2f, K=%.1f)", naturalFrequency, damping, gain));
+    }
+
+    /**
+     * K / ((T1 s + 1)(T2 s + 1)), two lags in series
+     */
+    public static StateSpacePlant secondOrderLag(double t1, double t2, double gain, double dt) {
+        return new StateSpacePlant(
+                new double[][] { { -1.0 / t1, 0.0 }, { 1.0 / t2, -1.0 / t2 } },
+                new double[] { gain / t1, 0.0 }, new double[] { 0.0, 1.0 }, 0.0, dt,
+                String.format("2nd Order Lag (T1=%.1f, T2=%.1f, K=%.1f)", t1, t2, gain));
+    }
+
+    @Override
+    public double update(double input) {
+        // x(k+1) = Ad x(k) + Bd u(k); y = C x(k+1) + D u(k)
+        double y = d * input;
+        for (int i = 0; i < n; i++) {
+            double sum = bd[i] * input;
+            int row = i * n;
+            for (int j = 0; j < n; j++) {
+                sum += ad[row + j] * x[j];
+            }
+            next[i] = sum;
+            y += c[i] * sum;
+        }
+        System.arraycopy(next, 0, x, 0, n);
+        output = y;
+        return output;
+    }
+
+    /**
+     * G(jω) = C (jωI - A)^-1 B + D of the continuous model, by complex Gaussian elimination with
+     * partial pivoting on preallocated scratch. Like {@link #update}, not safe for concurrent use.
+     */
+    @Override
+    public void frequencyResponse(double omega, double[] out) {
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                sRe[i * n + j] = -a[i][j];
+                sIm[i * n + j] = i == j ? omega : 0.0;
+            }
+            zRe[i] = b[i];
+            zIm[i] = 0.0;
+        }
+        for (int col = 0; col < n; col++) {
+            int pivot = col;
+            double best = -1;
+            for (int row = col; row < n; row++) {
+                double mag = sRe[row * n + col] * sRe[row * n + col] + sIm[row * n + col] * sIm[row * n + col];
+                if (mag > best) {
+                    best = mag;
+                    pivot = row;
+                }
+            }
+            if (best == 0.0) {
+                // jω is an eigenvalue of A (e.g. an integrator at ω = 0)
+                out[0] = Double.POSITIVE_INFINITY;
+                out[1] = 0.0;
+                return;
+            }
+            if (pivot != col) {
+                swapRows(pivot, col);
+            }
+            double pr = sRe[col * n + col];
+            double pi = sIm[col * n + col];
+            for (int row = col + 1; row < n; row++) {
+                // factor = s[row][col] / s[col][col]
+                double qr = sRe[row * n + col];
+                double qi = sIm[row * n + col];
+                double fr = (qr * pr + qi * pi) / best;
+                double fi = (qi * pr - qr * pi) / best;
+                for (int k = col; k < n; k++) {
+                    double ur = sRe[col * n + k];
+                    double ui = sIm[col * n + k];
+                    sRe[row * n + k] -= fr * ur - fi * ui;
+                    sIm[row * n + k] -= fr * ui + fi * ur;
+                }
+                zRe[row] -= fr * zRe[col] - fi * zIm[col];
+                zIm[row] -= fr * zIm[col] + fi * zRe[col];
+            }
+        }
+        double yRe = d;
+        double yIm = 0.0;
+        for (int row = n - 1; row >= 0; row--) {
+            double rr = zRe[row];
+            double ri = zIm[row];
+            for (int k = row + 1; k < n; k++) {
+                double ur = sRe[row * n + k];
+                double ui = sIm[row * n + k];
+                rr -= ur * zRe[k] - ui * zIm[k];
+                ri -= ur * zIm[k] + ui * zRe[k];
+            }
+            double pr = sRe[row * n + row];
+            double pi = sIm[row * n + row];
+            double mag = pr * pr + pi * pi;
+            zRe[row] = (rr * pr + ri * pi) / mag;
+            zIm[row] = (ri * pr - rr * pi) / mag;
+            yRe += c[row] * zRe[row];
+            yIm += c[row] * zIm[row];
+        }
+        out[0] = yRe;
+        out[1] = yIm;
+    }
+
+    /**
+     * H(z) = C (I - z^-1 Ad)^-1 Bd + D. The denominator is the characteristic polynomial of Ad
+     * (Faddeev-LeVerrier, fine for the low orders used here); the numerator follows from the first
+     * n + 1 Markov parameters.
+     */
+    @Override
+    public PulseTransferFunction pulseTransferFunction() {
+        // det(I - z^-1 Ad) = 1 + c1 z^-1 + ... + cn z^-n
+        double[] denominator = new double[n + 1];
+        denominator[0] = 1.0;
+        double[] m = new double[n * n];
+        double[] am = new double[n * n];
+        for (int k = 1; k <= n; k++) {
+            // M_k = Ad M_(k-1) + c_(k-1) I, starting from M_1 = I
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    double sum = 0;
+                    for (int l = 0; l < n; l++) {
+                        sum += ad[i * n + l] * m[l * n + j];
+                    }
+                    am[i * n + j] = sum;
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                am[i * n + i] += denominator[k - 1];
+            }
+            System.arraycopy(am, 0, m, 0, m.length);
+            double trace = 0;
+            for (int i = 0; i < n; i++) {
+                for (int l = 0; l < n; l++) {
+                    trace += ad[i * n + l] * m[l * n + i];
+                }
+            }
+            denominator[k] = -trace / k;
+        }
+
+        // Markov parameters h0 = C Bd + D, hj = C Ad^j Bd
+        double[] markov = new double[n + 1];
+        double[] v = bd.clone();
+        double[] w = new double[n];
+        for (int j = 0; j <= n; j++) {
+            double h = j == 0 ? d : 0.0;
+            for (int i = 0; i < n; i++) {
+                h += c[i] * v[i];
+            }
+            markov[j] = h;
+            for (int i = 0; i < n; i++) {
+                double sum = 0;
+                for (int l = 0; l < n; l++) {
+                    sum += ad[i * n + l] * v[l];
+                }
+                w[i] = sum;
+            }
+            System.arraycopy(w, 0, v, 0, n);
+        }
+        double[] numerator = new double[n + 1];
+        for (int j = 0; j <= n; j++) {
+            for (int i = 0; i <= j; i++) {
+                numerator[j] += denominator[i] * markov[j - i];
+            }
+        }
+        return new PulseTransferFunction(numerator, denominator);
+    }
+
+    private void swapRows(int r1, int r2) {
+        for (int k = 0; k < n; k++) {
+            double t = sRe[r1 * n + k];
+            sRe[r1 * n + k] = sRe[r2 * n + k];
+            sRe[r2 * n + k] = t;
+            t = sIm[r1 * n + k];
+            sIm[r1 * n + k] = sIm[r2 * n + k];
+            sIm[r2 * n + k] = t;
+        }
+        double t = zRe[r1];
+        zRe[r1] = zRe[r2];
+        zRe[r2] = t;
+        t = zIm[r1];
+        zIm[r1] = zIm[r2];
+        zIm[r2] = t;
+    }
+
+    @Override
+    public double getState() {
+        return output;
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(x, 0.0);
+        output = 0;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public int getOrder() {
+        return n;
+    }
+
+    public double getDt() {
+        return dt;
+    }
+
+    /** Continuous-time A matrix, as passed to the constructor. */
+    public double[][] getA() {
+        return copy(a);
+    }
+
+    public double[] getB() {
+        return b.clone();
+    }
+
+    public double[] getC() {
+        return c.clone();
+    }
+
+    public double getD() {
+        return d;
+    }
+
+    private static double[][] copy(double[][] m) {
+        double[][] result = new double[m.length][];
+        for (int i = 0; i < m.length; i++) {
+            result[i] = m[i].clone();
+        }
+        return result;
+    }
+}
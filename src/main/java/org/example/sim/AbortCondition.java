@@ -0,0 +1,16 @@
+package org.example.sim;
+
+/**
+ * 提前终止条件, 每一步结束后由 {@link SimulationEngine} 检查
+ */
+@FunctionalInterface
+public interface AbortCondition {
+
+    /**
+     * @param time       current simulation time
+     * @param pv         process variable after this step
+     * @param runningIae integral absolute error accumulated so far
+     * @return true to abandon the run
+     */
+    boolean shouldAbort(double time, double pv, double runningIae);
+}
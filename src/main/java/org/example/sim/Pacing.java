@@ -0,0 +1,38 @@
+package org.example.sim;
+
+/**
+ * 仿真节奏 (Pacing)
+ * speedFactor 表示仿真时间相对墙钟时间的倍率, 无穷大表示不做任何等待。
+ */
+public record Pacing(double speedFactor) {
+
+    public Pacing {
+        if (!(speedFactor > 0)) {
+            throw new IllegalArgumentException("Speed factor must be positive: " + speedFactor);
+        }
+    }
+
+    /** One second of simulated time per second of wall clock. */
+    public static Pacing realTime() {
+        return new Pacing(1.0);
+    }
+
+    /** {@code factor} seconds of simulated time per second of wall clock. */
+    public static Pacing scaled(double factor) {
+        return new Pacing(factor);
+    }
+
+    /** Step in a tight loop without sleeping. */
+    public static Pacing asFastAsPossible() {
+        return new Pacing(Double.POSITIVE_INFINITY);
+    }
+
+    public boolean isUnpaced() {
+        return Double.isInfinite(speedFactor);
+    }
+
+    @Override
+    public String toString() {
+        return isUnpaced() ? "As fast as possible" : String.format("%.2fx real time", speedFactor);
+    }
+}
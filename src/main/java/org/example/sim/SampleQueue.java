@@ -0,0 +1,131 @@
+package org.example.sim;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 单生产者/单消费者无锁采样队列
+ * 样本以原始 double 存放在预分配的环形数组中, 入队和出队都不分配对象。
+ * Exactly one thread may call {@link #offer} and exactly one (possibly different) thread may call
+ * {@link #drain}; the counters may be read from anywhere.
+ */
+public final class SampleQueue {
+
+    /**
+     * Receives drained samples on the consumer thread.
+     */
+    @FunctionalInterface
+    public interface Consumer {
+        void accept(double time, double pv, double setpoint, double output);
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final double[] time;
+    private final double[] pv;
+    private final double[] setpoint;
+    private final double[] output;
+    private final long[] stamp;
+
+    // head: next slot to read (written by consumer); tail: next slot to write (written by producer)
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong droppedSamples = new AtomicLong();
+    private long cachedHead = 0; // producer-local copy, refreshed only when the queue looks full
+
+    /**
+     * @param capacity samples held before {@link #offer} starts dropping, between 1 and 2^30. The ring
+     *                 is allocated at the next power of two, but never holds more than {@code capacity}.
+     */
+    public SampleQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.capacity = capacity;
+        this.mask = size - 1;
+        this.time = new double[size];
+        this.pv = new double[size];
+        this.setpoint = new double[size];
+        this.output = new double[size];
+        this.stamp = new long[size];
+    }
+
+    /**
+     * Enqueues a sample; if the consumer has fallen a full buffer behind the sample is dropped and counted.
+     *
+     * @return false if the sample was dropped
+     */
+    public boolean offer(double t, double pvValue, double setpointValue, double outputValue) {
+        return offer(t, pvValue, setpointValue, outputValue, 0L);
+    }
+
+    /**
+     * As {@link #offer(double, double, double, double)}, tagging the sample with a {@code System.nanoTime()}
+     * publish stamp that the consumer can read with {@link #peekStamp()}.
+     */
+    public boolean offer(double t, double pvValue, double setpointValue, double outputValue, long stampNanos) {
+        long currentTail = tail.get();
+        if (currentTail - cachedHead >= capacity) {
+            cachedHead = head.get();
+            if (currentTail - cachedHead >= capacity) {
+                droppedSamples.incrementAndGet();
+                return false;
+            }
+        }
+        int index = (int) currentTail & mask;
+        time[index] = t;
+        pv[index] = pvValue;
+        setpoint[index] = setpointValue;
+        output[index] = outputValue;
+        stamp[index] = stampNanos;
+        tail.lazySet(currentTail + 1); // release: the slot is fully written before it becomes visible
+        return true;
+    }
+
+    /**
+     * Hands up to {@code maxSamples} queued samples to {@code consumer} in FIFO order.
+     *
+     * @return number of samples drained
+     */
+    public int drain(Consumer consumer, int maxSamples) {
+        long currentHead = head.get();
+        long available = tail.get() - currentHead;
+        int n = (int) Math.min(available, maxSamples);
+        for (int i = 0; i < n; i++) {
+            int index = (int) (currentHead + i) & mask;
+            consumer.accept(time[index], pv[index], setpoint[index], output[index]);
+        }
+        head.lazySet(currentHead + n);
+        return n;
+    }
+
+    /**
+     * Publish stamp of the oldest queued sample, or 0 if the queue is empty or it was offered unstamped.
+     * Consumer thread only.
+     */
+    public long peekStamp() {
+        long currentHead = head.get();
+        return tail.get() > currentHead ? stamp[(int) currentHead & mask] : 0L;
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long getDroppedSamples() {
+        return droppedSamples.get();
+    }
+
+    /**
+     * Discards queued samples. Only safe while the producer is idle.
+     */
+    public void clear() {
+        head.set(tail.get());
+        cachedHead = head.get();
+        droppedSamples.set(0);
+    }
+}
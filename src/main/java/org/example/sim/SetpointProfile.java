@@ -0,0 +1,19 @@
+package org.example.sim;
+
+/**
+ * 设定值曲线, 按仿真时间给出设定值
+ */
+@FunctionalInterface
+public interface SetpointProfile {
+
+    double valueAt(double time);
+
+    static SetpointProfile step(double value) {
+        return t -> value;
+    }
+
+    static SetpointProfile sine(double amplitude, double frequencyHz, double offset) {
+        double omega = 2 * Math.PI * frequencyHz;
+        return t -> amplitude * Math.sin(omega * t) + offset;
+    }
+}
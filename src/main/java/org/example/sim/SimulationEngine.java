@@ -0,0 +1,246 @@
+package org.example.sim;
+
+import org.example.algorithm.ControlAlgorithm;
+import org.example.data.MetricsAccumulator;
+import org.example.data.PerformanceMetrics;
+import org.example.data.Trajectory;
+import org.example.monitor.LoopMonitor;
+import org.example.monitor.TickBatchEvent;
+import org.example.plant.Plant;
+
+/**
+ * 无界面仿真引擎
+ * 在调用线程上以固定步长推进 Plant + ControlAlgorithm 闭环, 不依赖 Swing。
+ * 每一步的顺序与界面中的实时回路一致: 取设定值 -> 计算控制量 -> 更新被控对象 -> 记录。
+ */
+public class SimulationEngine {
+    private final double dt;
+    private Pacing pacing = Pacing.asFastAsPossible();
+    private AbortCondition abortCondition;
+    private boolean recordTrajectory = true;
+    private StepListener stepListener;
+    private TickScheduler.CatchUpPolicy catchUpPolicy = TickScheduler.CatchUpPolicy.BURST;
+    private volatile TickScheduler scheduler;
+    private int controllerDivider = 1;
+    private int recordDivider = 1;
+    private volatile boolean stopRequested = false;
+    private LoopMonitor monitor;
+    private boolean publishMetrics = false;
+    private volatile PerformanceMetrics liveMetrics;
+
+    public SimulationEngine(double dt) {
+        if (!(dt > 0)) {
+            throw new IllegalArgumentException("Step size must be positive: " + dt);
+        }
+        this.dt = dt;
+    }
+
+    public double getDt() {
+        return dt;
+    }
+
+    /**
+     * Runs the controller every {@code divider} plant steps and holds its output in between (ZOH).
+     * The algorithm's sample time is set to {@code divider * dt} at the start of each run.
+     */
+    public void setControllerDivider(int divider) {
+        if (divider < 1) {
+            throw new IllegalArgumentException("Controller divider must be at least 1: " + divider);
+        }
+        this.controllerDivider = divider;
+    }
+
+    public double getControllerPeriod() {
+        return dt * controllerDivider;
+    }
+
+    /**
+     * Records, and reports to the step listener, every {@code divider}-th plant step only.
+     * Metrics are still accumulated at the plant rate.
+     */
+    public void setRecordDivider(int divider) {
+        if (divider < 1) {
+            throw new IllegalArgumentException("Record divider must be at least 1: " + divider);
+        }
+        this.recordDivider = divider;
+    }
+
+    public Pacing getPacing() {
+        return pacing;
+    }
+
+    public void setPacing(Pacing pacing) {
+        this.pacing = pacing;
+    }
+
+    public void setAbortCondition(AbortCondition abortCondition) {
+        this.abortCondition = abortCondition;
+    }
+
+    /**
+     * Turns trajectory recording off for runs where only the metrics are needed.
+     * Metrics are accumulated online either way.
+     */
+    public void setRecordTrajectory(boolean recordTrajectory) {
+        this.recordTrajectory = recordTrajectory;
+    }
+
+    /**
+     * Receives every step on the simulation thread, for example to publish samples to a UI.
+     */
+    public void setStepListener(StepListener stepListener) {
+        this.stepListener = stepListener;
+    }
+
+    /**
+     * Publishes the run's metrics after every step for {@link #getLiveMetrics()}. Costs one small
+     * object per step, so headless runs leave it off.
+     */
+    public void setPublishMetrics(boolean publishMetrics) {
+        this.publishMetrics = publishMetrics;
+    }
+
+    /**
+     * Metrics of the current or last run up to its latest step, readable from any thread; null until
+     * a run with {@link #setPublishMetrics publishing} enabled has taken a step.
+     */
+    public PerformanceMetrics getLiveMetrics() {
+        return liveMetrics;
+    }
+
+    /**
+     * Times calculate / update and tick lateness of subsequent runs into {@code monitor}; null disables timing.
+     */
+    public void setMonitor(LoopMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    public void setCatchUpPolicy(TickScheduler.CatchUpPolicy catchUpPolicy) {
+        this.catchUpPolicy = catchUpPolicy;
+    }
+
+    /**
+     * The scheduler pacing the current or last paced run, or null for unpaced runs.
+     * Its lateness and overrun counters may be read while the run is in progress.
+     */
+    public TickScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Asks a running {@link #run} to return after the current step. Safe to call from any thread;
+     * if it arrives before the run has started, that run returns immediately.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Runs the closed loop for {@code duration} seconds of simulated time.
+     * The plant and algorithm are used as-is; callers reset them if a fresh start is wanted.
+     *
+     * @param plant     被控对象, its step size should match {@link #getDt()}
+     * @param algorithm 控制算法, sampled every {@link #getControllerPeriod()} seconds
+     * @param setpoint  设定值曲线
+     * @param duration  simulated time to cover, in seconds
+     */
+    public SimulationResult run(Plant plant, ControlAlgorithm algorithm, SetpointProfile setpoint, double duration) {
+        long totalSteps = (long) Math.ceil(duration / dt - 1e-9);
+        int controlEvery = controllerDivider;
+        int recordEvery = recordDivider;
+        algorithm.setSampleTime(dt * controlEvery);
+        boolean record = recordTrajectory;
+        boolean publish = publishMetrics;
+        Trajectory data = record ? new Trajectory((int) Math.min(totalSteps / recordEvery, Integer.MAX_VALUE))
+                : new Trajectory(0);
+        MetricsAccumulator metrics = new MetricsAccumulator(plant.getState(), setpoint.valueAt(dt));
+
+        TickScheduler ticks = null;
+        if (!pacing.isUnpaced()) {
+            ticks = new TickScheduler(Math.max(1, Math.round(dt * 1e9 / pacing.speedFactor())), catchUpPolicy);
+        }
+        this.scheduler = ticks;
+        AbortCondition abort = this.abortCondition;
+        StepListener listener = this.stepListener;
+        LoopMonitor monitor = this.monitor;
+        boolean aborted = false;
+        long startNanos = System.nanoTime();
+        long step = 0;
+        int untilControl = 0;
+        int untilRecord = recordEvery;
+        double output = 0.0;
+        double effort = 0.0;
+        if (ticks != null) {
+            ticks.start();
+        }
+        // JFR tick batches; null while the event is not being recorded
+        TickBatchEvent batch = TickBatchEvent.next(null, 0, 0.0, ticks);
+        int untilBatch = TickBatchEvent.BATCH_STEPS;
+
+        while (step < totalSteps && !stopRequested) {
+            if (ticks != null) {
+                ticks.awaitNextTick();
+                if (monitor != null) {
+                    monitor.recordTickLateness(ticks.getLastLatenessNanos());
+                }
+            }
+            step++;
+            // Time is derived from the integer step counter so it does not drift over long runs
+            double time = step * dt;
+            double sp = setpoint.valueAt(time);
+            if (untilControl == 0) {
+                long start = monitor != null ? System.nanoTime() : 0L;
+                output = algorithm.calculate(sp, plant.getState(), time);
+                if (monitor != null) {
+                    monitor.recordCalculate(System.nanoTime() - start);
+                }
+                untilControl = controlEvery;
+            }
+            untilControl--;
+            if (monitor != null) {
+                long start = System.nanoTime();
+                plant.update(output); // held between controller samples
+                monitor.recordUpdate(System.nanoTime() - start);
+                monitor.recordStep();
+            } else {
+                plant.update(output);
+            }
+            effort += output * output * dt;
+            double newPv = plant.getState();
+            metrics.add(time, newPv, sp);
+            if (publish) {
+                liveMetrics = metrics.toRunningMetrics();
+            }
+            if (--untilRecord == 0) {
+                untilRecord = recordEvery;
+                if (record) {
+                    data.add(time, newPv, sp, output);
+                }
+                if (listener != null) {
+                    listener.onStep(time, newPv, sp, output);
+                }
+            }
+
+            if (batch != null) {
+                batch.onStep(ticks);
+            }
+            if (--untilBatch == 0) {
+                untilBatch = TickBatchEvent.BATCH_STEPS;
+                batch = TickBatchEvent.next(batch, step, time, ticks);
+            }
+
+            if (abort != null && abort.shouldAbort(time, newPv, metrics.getIae())) {
+                aborted = true;
+                break;
+            }
+        }
+
+        if (batch != null && untilBatch != TickBatchEvent.BATCH_STEPS) {
+            batch.finish(step, step * dt, ticks);
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        stopRequested = false;
+        return new SimulationResult(data.snapshot(), metrics.toMetrics(), effort, step,
+                !aborted && step >= totalSteps, aborted, elapsed);
+    }
+}
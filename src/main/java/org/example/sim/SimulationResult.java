@@ -0,0 +1,29 @@
+package org.example.sim;
+
+import org.example.data.PerformanceMetrics;
+import org.example.data.TrajectoryView;
+
+/**
+ * 一次无界面仿真的结果
+ *
+ * @param trajectory  recorded samples, one per step; empty when recording is off
+ * @param metrics     step-response metrics of the trajectory
+ * @param controlEffort integral of the squared controller output over the run
+ * @param steps       number of steps actually executed
+ * @param completed   false if the run was stopped or aborted before reaching its duration
+ * @param aborted     true if the {@link AbortCondition} ended the run
+ * @param elapsedNanos wall-clock time spent in the loop
+ */
+public record SimulationResult(
+        TrajectoryView trajectory,
+        PerformanceMetrics metrics,
+        double controlEffort,
+        long steps,
+        boolean completed,
+        boolean aborted,
+        long elapsedNanos) {
+
+    public double stepsPerSecond() {
+        return elapsedNanos > 0 ? steps * 1e9 / elapsedNanos : Double.POSITIVE_INFINITY;
+    }
+}
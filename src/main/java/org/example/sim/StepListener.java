@@ -0,0 +1,9 @@
+package org.example.sim;
+
+/**
+ * 每一步结束后由 {@link SimulationEngine} 在仿真线程上回调
+ */
+@FunctionalInterface
+public interface StepListener {
+    void onStep(double time, double pv, double setpoint, double output);
+}
@@ -0,0 +1,146 @@
+package org.example.sim;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 高精度固定步长节拍调度器
+ * 以整数节拍计数作为时间基准, 第 k 个节拍的截止时间为 origin + k * period。
+ * 反复 park 到距截止时间只剩最后一小段, 再自旋等待, 并记录每个节拍的迟到时间和超时次数。
+ * <p>
+ * The tick counter counts executed ticks only, so simulation time stays contiguous whatever the
+ * catch-up policy does with missed deadlines. Statistics are written by the scheduling thread and
+ * may be read from any thread.
+ */
+public class TickScheduler {
+
+    /**
+     * What to do when a tick starts more than one period late.
+     */
+    public enum CatchUpPolicy {
+        /** Run the missed ticks back to back until the schedule is met again. */
+        BURST,
+        /** Drop the missed deadlines and continue on the original grid. */
+        SKIP,
+        /** Re-anchor the schedule at the late tick, stretching wall-clock time. */
+        SLOW_DOWN
+    }
+
+    private static final long SPIN_NANOS = 100_000;
+
+    private final long periodNanos;
+    private final CatchUpPolicy policy;
+
+    private long originNanos;
+    private long slot; // index on the deadline grid
+    private volatile long tick; // executed ticks
+    private volatile long overruns;
+    private volatile long skippedDeadlines;
+    private volatile long lastLatenessNanos;
+    private volatile long maxLatenessNanos;
+    private long totalLatenessNanos;
+
+    public TickScheduler(long periodNanos, CatchUpPolicy policy) {
+        if (periodNanos <= 0) {
+            throw new IllegalArgumentException("Tick period must be positive: " + periodNanos);
+        }
+        this.periodNanos = periodNanos;
+        this.policy = policy;
+    }
+
+    /**
+     * Anchors the schedule at the current instant. The first tick is due one period from now.
+     */
+    public void start() {
+        originNanos = System.nanoTime();
+        slot = 0;
+        tick = 0;
+        overruns = 0;
+        skippedDeadlines = 0;
+        lastLatenessNanos = 0;
+        maxLatenessNanos = 0;
+        totalLatenessNanos = 0;
+    }
+
+    /**
+     * Blocks until the next tick is due and returns its number, starting at 1.
+     */
+    public long awaitNextTick() {
+        slot++;
+        long deadline = originNanos + slot * periodNanos;
+        long now = System.nanoTime();
+        // parkNanos may return early (spurious wakeup, stray unpark), so park again until only the final
+        // slice is left; an interrupted thread cannot park and falls through to the spin
+        while (deadline - now > SPIN_NANOS && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(deadline - now - SPIN_NANOS);
+            now = System.nanoTime();
+        }
+        while ((now = System.nanoTime()) < deadline) {
+            Thread.onSpinWait();
+        }
+
+        long lateness = now - deadline;
+        lastLatenessNanos = lateness;
+        totalLatenessNanos += lateness;
+        if (lateness > maxLatenessNanos) {
+            maxLatenessNanos = lateness;
+        }
+        if (lateness > periodNanos) {
+            overruns++;
+            catchUp(now);
+        }
+        tick++;
+        return tick;
+    }
+
+    private void catchUp(long now) {
+        switch (policy) {
+            case SKIP -> {
+                long currentSlot = (now - originNanos) / periodNanos;
+                skippedDeadlines += currentSlot - slot;
+                slot = currentSlot;
+            }
+            case SLOW_DOWN -> {
+                originNanos = now - slot * periodNanos;
+            }
+            case BURST -> {
+                // Keep the grid; the following ticks find their deadlines already passed
+            }
+        }
+    }
+
+    public long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    public CatchUpPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    /** Ticks that started more than one period after their deadline. */
+    public long getOverruns() {
+        return overruns;
+    }
+
+    /** Deadlines dropped by {@link CatchUpPolicy#SKIP}. */
+    public long getSkippedDeadlines() {
+        return skippedDeadlines;
+    }
+
+    public long getLastLatenessNanos() {
+        return lastLatenessNanos;
+    }
+
+    public long getMaxLatenessNanos() {
+        return maxLatenessNanos;
+    }
+
+    /** Mean lateness; only exact when read from the scheduling thread. */
+    public double getMeanLatenessNanos() {
+        long ticks = tick;
+        return ticks > 0 ? (double) totalLatenessNanos / ticks : 0.0;
+    }
+}
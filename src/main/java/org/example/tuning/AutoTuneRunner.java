@@ -0,0 +1,75 @@
+package org.example.tuning;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import org.example.algorithm.AutoTuneResult;
+import org.example.algorithm.PIDController;
+import org.example.plant.Plant;
+import org.example.sim.SetpointProfile;
+import org.example.sim.SimulationEngine;
+
+/**
+ * 无界面继电器自整定
+ * 以不限速的仿真驱动 {@link PIDController} 的继电器实验, 得到结果后立即停止。
+ */
+public class AutoTuneRunner {
+    private final double dt;
+    private final double maxDuration;
+
+    /**
+     * @param dt          仿真步长, also the controller sample time
+     * @param maxDuration 最长实验时间 (s), after which the tune is reported as failed
+     */
+    public AutoTuneRunner(double dt, double maxDuration) {
+        this.dt = dt;
+        this.maxDuration = maxDuration;
+    }
+
+    /**
+     * Runs a relay experiment on {@code plant} in the calling thread. The plant is reset first.
+     */
+    public AutoTuneResult tune(Plant plant, double setpoint, PIDController.TuningRule rule) {
+        return tune(plant, new PIDController(), setpoint, rule);
+    }
+
+    /**
+     * Runs a relay experiment with {@code controller}, whose gains are replaced on success.
+     */
+    public AutoTuneResult tune(Plant plant, PIDController controller, double setpoint, PIDController.TuningRule rule) {
+        plant.reset();
+        controller.startAutoTune(setpoint, rule);
+        SimulationEngine engine = new SimulationEngine(dt);
+        engine.setRecordTrajectory(false);
+        engine.setAbortCondition((time, pv, runningIae) -> !controller.isAutoTuning());
+        engine.run(plant, controller, SetpointProfile.step(setpoint), maxDuration);
+        controller.abortAutoTune(String.format(
+                "Auto-tune failed: No sustained oscillation within %.1f s.", maxDuration));
+        return controller.getLastAutoTuneResult();
+    }
+
+    public CompletableFuture<AutoTuneResult> tuneAsync(Supplier<? extends Plant> plantFactory, double setpoint,
+            PIDController.TuningRule rule, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> tune(plantFactory.get(), setpoint, rule), executor);
+    }
+
+    /**
+     * Tunes every plant in parallel on the common pool; results are in input order.
+     */
+    public List<AutoTuneResult> tuneAll(List<? extends Supplier<? extends Plant>> plantFactories, double setpoint,
+            PIDController.TuningRule rule) {
+        List<CompletableFuture<AutoTuneResult>> futures = new ArrayList<>(plantFactories.size());
+        for (Supplier<? extends Plant> factory : plantFactories) {
+            futures.add(tuneAsync(factory, setpoint, rule, ForkJoinPool.commonPool()));
+        }
+        List<AutoTuneResult> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<AutoTuneResult> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+}
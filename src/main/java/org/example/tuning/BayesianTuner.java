@@ -0,0 +1,354 @@
+package org.example.tuning;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.CholeskyDecomposition;
+import org.apache.commons.math3.linear.NonPositiveDefiniteMatrixException;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.special.Erf;
+import org.example.algorithm.ControlAlgorithm;
+import org.example.data.PerformanceMetrics;
+import org.example.plant.Plant;
+import org.example.sim.SetpointProfile;
+import org.example.sim.SimulationEngine;
+import org.example.sim.SimulationResult;
+
+/**
+ * 贝叶斯优化参数整定
+ * 在归一化参数空间上用 RBF 核高斯过程拟合代价函数, 每次选择期望改进 (EI) 最大的点仿真,
+ * 适用于单次仿真代价高的被控对象。代价在拟合前取 log(1 + cost) 并标准化。
+ */
+public class BayesianTuner {
+    private static final double[] LENGTH_SCALES = { 0.05, 0.1, 0.2, 0.35, 0.6, 1.0 };
+    private static final double NOISE_VARIANCE = 1e-6;
+    private static final double EXPLORATION = 0.01;
+
+    /** One simulated candidate, in evaluation order. */
+    public record Sample(Map<String, Double> parameters, PerformanceMetrics metrics, double cost, boolean diverged) {
+    }
+
+    private final Supplier<? extends Plant> plantFactory;
+    private final Supplier<? extends ControlAlgorithm> algorithmFactory;
+    private final double dt;
+    private final double duration;
+    private SetpointProfile setpoint = SetpointProfile.step(5.0);
+    private ToDoubleFunction<PerformanceMetrics> cost = PerformanceMetrics::iae;
+    private double divergenceLimit = 1e3;
+    private int initialSamples = -1;
+    private int candidateCount = 2000;
+    private long seed = 1L;
+    private Consumer<Sample> sampleListener;
+
+    public BayesianTuner(Supplier<? extends Plant> plantFactory, Supplier<? extends ControlAlgorithm> algorithmFactory,
+            double dt, double duration) {
+        this.plantFactory = plantFactory;
+        this.algorithmFactory = algorithmFactory;
+        this.dt = dt;
+        this.duration = duration;
+    }
+
+    /**
+     * Weighted sum of metrics; overshoot is in percent, times in seconds.
+     */
+    public static ToDoubleFunction<PerformanceMetrics> weightedCost(double iaeWeight, double overshootWeight,
+            double settlingWeight, double riseWeight) {
+        return m -> iaeWeight * m.iae() + overshootWeight * m.overshoot() + settlingWeight * m.settlingTime()
+                + riseWeight * m.riseTime();
+    }
+
+    public void setSetpoint(SetpointProfile setpoint) {
+        this.setpoint = setpoint;
+    }
+
+    /** Cost to minimize; defaults to the IAE. */
+    public void setCost(ToDoubleFunction<PerformanceMetrics> cost) {
+        this.cost = cost;
+    }
+
+    /** A candidate is treated as diverged once |PV| exceeds this value or becomes non-finite. */
+    public void setDivergenceLimit(double divergenceLimit) {
+        this.divergenceLimit = divergenceLimit;
+    }
+
+    /** Number of space-filling samples before the surrogate is used; defaults to 2 * dimensions + 1. */
+    public void setInitialSamples(int initialSamples) {
+        this.initialSamples = initialSamples;
+    }
+
+    /** Number of random points scored by expected improvement for each proposal. */
+    public void setCandidateCount(int candidateCount) {
+        this.candidateCount = candidateCount;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /** Called after every simulation, on the calling thread of {@link #run}. */
+    public void setSampleListener(Consumer<Sample> sampleListener) {
+        this.sampleListener = sampleListener;
+    }
+
+    /**
+     * Spends {@code budget} simulations within the [min, max] of each range (point counts are ignored)
+     * and returns all samples in evaluation order.
+     */
+    public List<Sample> run(List<ParameterRange> bounds, int budget) {
+        if (budget < 1) {
+            throw new IllegalArgumentException("Budget must be at least one simulation: " + budget);
+        }
+        ParameterRange[] space = bounds.toArray(new ParameterRange[0]);
+        int dims = space.length;
+        SplittableRandom random = new SplittableRandom(seed);
+        int initial = Math.min(budget, initialSamples > 0 ? initialSamples : 2 * dims + 1);
+
+        List<double[]> xs = new ArrayList<>();
+        List<Sample> samples = new ArrayList<>();
+        for (double[] x : latinHypercube(initial, dims, random)) {
+            samples.add(evaluate(space, x));
+            xs.add(x);
+        }
+        while (samples.size() < budget) {
+            double[] x = propose(xs, samples, dims, random);
+            samples.add(evaluate(space, x));
+            xs.add(x);
+        }
+        return Collections.unmodifiableList(samples);
+    }
+
+    /** Lowest-cost non-diverged sample, or null if every sample diverged. */
+    public static Sample best(List<Sample> samples) {
+        Sample best = null;
+        for (Sample s : samples) {
+            if (!s.diverged() && (best == null || s.cost() < best.cost())) {
+                best = s;
+            }
+        }
+        return best;
+    }
+
+    private Sample evaluate(ParameterRange[] space, double[] unit) {
+        Map<String, Double> params = new HashMap<>();
+        for (int d = 0; d < space.length; d++) {
+            params.put(space[d].name(), space[d].min() + unit[d] * (space[d].max() - space[d].min()));
+        }
+        Plant plant = plantFactory.get();
+        ControlAlgorithm algorithm = algorithmFactory.get();
+        algorithm.setParameters(params);
+        algorithm.reset();
+        plant.reset();
+
+        boolean[] diverged = new boolean[1];
+        SimulationEngine engine = new SimulationEngine(dt);
+        engine.setRecordTrajectory(false);
+        engine.setAbortCondition((time, pv, runningIae) -> {
+            if (!Double.isFinite(pv) || Math.abs(pv) > divergenceLimit) {
+                diverged[0] = true;
+                return true;
+            }
+            return false;
+        });
+        SimulationResult result = engine.run(plant, algorithm, setpoint, duration);
+        double value = diverged[0] ? Double.POSITIVE_INFINITY : cost.applyAsDouble(result.metrics());
+        Sample sample = new Sample(Map.copyOf(params), result.metrics(), value, diverged[0]);
+        if (sampleListener != null) {
+            sampleListener.accept(sample);
+        }
+        return sample;
+    }
+
+    private double[] propose(List<double[]> xs, List<Sample> samples, int dims, SplittableRandom random) {
+        int n = xs.size();
+        double[] y = new double[n];
+        double worst = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            double c = samples.get(i).cost();
+            if (Double.isFinite(c)) {
+                y[i] = Math.log1p(Math.max(c, 0.0));
+                worst = Math.max(worst, y[i]);
+            } else {
+                y[i] = Double.NaN;
+            }
+        }
+        if (worst == Double.NEGATIVE_INFINITY) {
+            return randomPoint(dims, random); // Nothing stable yet, keep exploring
+        }
+        // Diverged samples get a cost just above the worst stable one so the GP steers away from them
+        double mean = 0;
+        for (int i = 0; i < n; i++) {
+            if (Double.isNaN(y[i])) {
+                y[i] = worst + 1.0;
+            }
+            mean += y[i];
+        }
+        mean /= n;
+        double variance = 0;
+        for (double v : y) {
+            variance += (v - mean) * (v - mean);
+        }
+        double scale = variance > 0 ? Math.sqrt(variance / n) : 1.0;
+        double best = Double.POSITIVE_INFINITY;
+        int bestIndex = 0;
+        for (int i = 0; i < n; i++) {
+            y[i] = (y[i] - mean) / scale;
+            if (y[i] < best) {
+                best = y[i];
+                bestIndex = i;
+            }
+        }
+
+        GaussianProcess gp = GaussianProcess.fit(xs, y);
+        if (gp == null) {
+            return randomPoint(dims, random);
+        }
+        double[] incumbent = xs.get(bestIndex);
+        double[] bestCandidate = null;
+        double bestEi = Double.NEGATIVE_INFINITY;
+        double[] candidate = new double[dims];
+        for (int k = 0; k < candidateCount; k++) {
+            // A quarter of the candidates refine around the incumbent, the rest cover the whole box
+            if (k % 4 == 0) {
+                for (int d = 0; d < dims; d++) {
+                    candidate[d] = Math.max(0.0, Math.min(1.0, incumbent[d] + 0.05 * random.nextGaussian()));
+                }
+            } else {
+                for (int d = 0; d < dims; d++) {
+                    candidate[d] = random.nextDouble();
+                }
+            }
+            double ei = gp.expectedImprovement(candidate, best);
+            if (ei > bestEi) {
+                bestEi = ei;
+                bestCandidate = candidate.clone();
+            }
+        }
+        return bestCandidate;
+    }
+
+    private static double[] randomPoint(int dims, SplittableRandom random) {
+        double[] x = new double[dims];
+        for (int d = 0; d < dims; d++) {
+            x[d] = random.nextDouble();
+        }
+        return x;
+    }
+
+    private static List<double[]> latinHypercube(int count, int dims, SplittableRandom random) {
+        double[][] points = new double[count][dims];
+        int[] order = new int[count];
+        for (int d = 0; d < dims; d++) {
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            for (int i = count - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = order[i];
+                order[i] = order[j];
+                order[j] = tmp;
+            }
+            for (int i = 0; i < count; i++) {
+                points[i][d] = (order[i] + random.nextDouble()) / count;
+            }
+        }
+        return List.of(points);
+    }
+
+    /** Zero-mean GP with a unit-variance RBF kernel; the length scale maximizes the marginal likelihood. */
+    private static final class GaussianProcess {
+        private final List<double[]> xs;
+        private final double lengthScale;
+        private final double[][] lower;
+        private final double[] alpha;
+        private final double[] kStar;
+        private final double[] v;
+
+        private GaussianProcess(List<double[]> xs, double lengthScale, double[][] lower, double[] alpha) {
+            this.xs = xs;
+            this.lengthScale = lengthScale;
+            this.lower = lower;
+            this.alpha = alpha;
+            this.kStar = new double[xs.size()];
+            this.v = new double[xs.size()];
+        }
+
+        static GaussianProcess fit(List<double[]> xs, double[] y) {
+            GaussianProcess best = null;
+            double bestLikelihood = Double.NEGATIVE_INFINITY;
+            for (double lengthScale : LENGTH_SCALES) {
+                int n = xs.size();
+                RealMatrix k = new Array2DRowRealMatrix(n, n);
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j <= i; j++) {
+                        double value = kernel(xs.get(i), xs.get(j), lengthScale);
+                        k.setEntry(i, j, value);
+                        k.setEntry(j, i, value);
+                    }
+                    k.addToEntry(i, i, NOISE_VARIANCE);
+                }
+                CholeskyDecomposition cholesky;
+                try {
+                    cholesky = new CholeskyDecomposition(k, 1e-10, 1e-12);
+                } catch (NonPositiveDefiniteMatrixException e) {
+                    continue;
+                }
+                double[] alpha = cholesky.getSolver().solve(new ArrayRealVector(y, false)).toArray();
+                double[][] lower = cholesky.getL().getData();
+                // log p(y) = -1/2 y^T alpha - sum(log L_ii) - n/2 log(2 pi)
+                double likelihood = 0;
+                for (int i = 0; i < n; i++) {
+                    likelihood -= 0.5 * y[i] * alpha[i] + Math.log(lower[i][i]);
+                }
+                if (likelihood > bestLikelihood) {
+                    bestLikelihood = likelihood;
+                    best = new GaussianProcess(xs, lengthScale, lower, alpha);
+                }
+            }
+            return best;
+        }
+
+        private static double kernel(double[] a, double[] b, double lengthScale) {
+            double sq = 0;
+            for (int d = 0; d < a.length; d++) {
+                double diff = a[d] - b[d];
+                sq += diff * diff;
+            }
+            return Math.exp(-0.5 * sq / (lengthScale * lengthScale));
+        }
+
+        /** EI for minimization against the standardized incumbent {@code best}. */
+        double expectedImprovement(double[] x, double best) {
+            int n = xs.size();
+            double mu = 0;
+            for (int i = 0; i < n; i++) {
+                kStar[i] = kernel(x, xs.get(i), lengthScale);
+                mu += kStar[i] * alpha[i];
+            }
+            // Forward substitution L v = k*, then var = k(x, x) - v^T v
+            double variance = 1.0;
+            for (int i = 0; i < n; i++) {
+                double sum = kStar[i];
+                for (int j = 0; j < i; j++) {
+                    sum -= lower[i][j] * v[j];
+                }
+                v[i] = sum / lower[i][i];
+                variance -= v[i] * v[i];
+            }
+            double sigma = Math.sqrt(Math.max(variance, 1e-12));
+            double improvement = best - mu - EXPLORATION;
+            double z = improvement / sigma;
+            double cdf = 0.5 * (1.0 + Erf.erf(z / Math.sqrt(2.0)));
+            double pdf = Math.exp(-0.5 * z * z) / Math.sqrt(2.0 * Math.PI);
+            return improvement * cdf + sigma * pdf;
+        }
+    }
+}
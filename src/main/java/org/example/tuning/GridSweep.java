@@ -0,0 +1,202 @@
+package org.example.tuning;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.example.algorithm.ControlAlgorithm;
+import org.example.analysis.FastResponseEvaluator;
+import org.example.data.PerformanceMetrics;
+import org.example.plant.LinearPlant;
+import org.example.plant.Plant;
+import org.example.sim.AbortCondition;
+import org.example.sim.SetpointProfile;
+import org.example.sim.SimulationEngine;
+import org.example.sim.SimulationResult;
+
+/**
+ * 控制器参数网格扫描
+ * 在 ForkJoin 线程池上并行评估所有参数组合, 每个候选使用独立的 Plant / ControlAlgorithm 实例。
+ * 候选的累计 IAE 一旦超过当前最优值, 或过程量发散, 即提前放弃。
+ * 启用快速评估且对象线性、控制器为 PID 时, 改用 {@link FastResponseEvaluator} 按传递函数直接计算响应。
+ */
+public class GridSweep {
+    private static final int SPLIT_THRESHOLD = 16;
+
+    private final Supplier<? extends Plant> plantFactory;
+    private final Supplier<? extends ControlAlgorithm> algorithmFactory;
+    private final double dt;
+    private final double duration;
+    private SetpointProfile setpoint = SetpointProfile.step(5.0);
+    private double divergenceLimit = 1e3;
+    private boolean pruneByIae = true;
+    private boolean fastEvaluation = false;
+
+    public GridSweep(Supplier<? extends Plant> plantFactory, Supplier<? extends ControlAlgorithm> algorithmFactory,
+            double dt, double duration) {
+        this.plantFactory = plantFactory;
+        this.algorithmFactory = algorithmFactory;
+        this.dt = dt;
+        this.duration = duration;
+    }
+
+    public void setSetpoint(SetpointProfile setpoint) {
+        this.setpoint = setpoint;
+    }
+
+    /** A candidate is treated as diverged once |PV| exceeds this value or becomes non-finite. */
+    public void setDivergenceLimit(double divergenceLimit) {
+        this.divergenceLimit = divergenceLimit;
+    }
+
+    public void setPruneByIae(boolean pruneByIae) {
+        this.pruneByIae = pruneByIae;
+    }
+
+    /**
+     * Evaluates linear plant + PID loops from their transfer functions instead of time stepping.
+     * Falls back to simulation for anything else. Pruning and divergence apply at the same step as
+     * in simulation.
+     */
+    public void setFastEvaluation(boolean fastEvaluation) {
+        this.fastEvaluation = fastEvaluation;
+    }
+
+    /**
+     * Builds ranges for every name in {@code getParameterNames()} of a fresh algorithm instance.
+     * Names missing from {@code ranges} are held at the algorithm's current value.
+     */
+    public List<ParameterRange> rangesFor(Map<String, ParameterRange> ranges) {
+        return ParameterRange.forAlgorithm(algorithmFactory.get(), ranges);
+    }
+
+    public List<SweepResult> run(List<ParameterRange> ranges) {
+        return run(ranges, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Evaluates every combination of {@code ranges} and returns them ranked:
+     * completed candidates by ascending IAE first, then pruned and diverged ones.
+     */
+    public List<SweepResult> run(List<ParameterRange> ranges, ForkJoinPool pool) {
+        long total = 1;
+        for (ParameterRange range : ranges) {
+            total = Math.multiplyExact(total, range.points());
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Grid too large: " + total + " combinations");
+        }
+
+        SweepResult[] results = new SweepResult[(int) total];
+        AtomicLong bestIaeBits = new AtomicLong(Double.doubleToLongBits(Double.POSITIVE_INFINITY));
+        ParameterRange[] grid = ranges.toArray(new ParameterRange[0]);
+        FastResponseEvaluator fast = null;
+        if (fastEvaluation) {
+            Plant probe = plantFactory.get();
+            if (FastResponseEvaluator.supports(probe, algorithmFactory.get())) {
+                fast = new FastResponseEvaluator((LinearPlant) probe, dt, duration);
+            }
+        }
+        pool.invoke(new SweepTask(grid, fast, results, bestIaeBits, 0, results.length));
+
+        List<SweepResult> ranked = new ArrayList<>(Arrays.asList(results));
+        ranked.sort(Comparator.comparing(SweepResult::outcome)
+                .thenComparingDouble(r -> r.metrics().iae()));
+        return Collections.unmodifiableList(ranked);
+    }
+
+    private SweepResult evaluate(ParameterRange[] grid, FastResponseEvaluator fast, int index,
+            AtomicLong bestIaeBits) {
+        Map<String, Double> params = new HashMap<>();
+        int remainder = index;
+        for (int i = grid.length - 1; i >= 0; i--) {
+            ParameterRange range = grid[i];
+            params.put(range.name(), range.valueAt(remainder % range.points()));
+            remainder /= range.points();
+        }
+
+        ControlAlgorithm algorithm = algorithmFactory.get();
+        algorithm.setParameters(params);
+        boolean[] diverged = new boolean[1];
+        AbortCondition abort = (time, pv, runningIae) -> {
+            if (!Double.isFinite(pv) || Math.abs(pv) > divergenceLimit) {
+                diverged[0] = true;
+                return true;
+            }
+            return pruneByIae && runningIae > Double.longBitsToDouble(bestIaeBits.get());
+        };
+
+        SimulationResult result;
+        if (fast != null) {
+            result = fast.evaluate(algorithm.getCurrentParameters(), setpoint, abort);
+        } else {
+            Plant plant = plantFactory.get();
+            algorithm.reset();
+            plant.reset();
+            SimulationEngine engine = new SimulationEngine(dt);
+            engine.setRecordTrajectory(false);
+            engine.setAbortCondition(abort);
+            result = engine.run(plant, algorithm, setpoint, duration);
+        }
+
+        if (!result.aborted()) {
+            updateBest(bestIaeBits, result.metrics().iae());
+            return new SweepResult(Map.copyOf(params), result.metrics(), SweepResult.Outcome.COMPLETED);
+        }
+        SweepResult.Outcome outcome = diverged[0] ? SweepResult.Outcome.DIVERGED : SweepResult.Outcome.PRUNED;
+        PerformanceMetrics partial = diverged[0]
+                ? new PerformanceMetrics(0, 0, 0, Double.POSITIVE_INFINITY)
+                : result.metrics();
+        return new SweepResult(Map.copyOf(params), partial, outcome);
+    }
+
+    private static void updateBest(AtomicLong bestIaeBits, double iae) {
+        long current = bestIaeBits.get();
+        while (iae < Double.longBitsToDouble(current)) {
+            if (bestIaeBits.compareAndSet(current, Double.doubleToLongBits(iae))) {
+                return;
+            }
+            current = bestIaeBits.get();
+        }
+    }
+
+    private final class SweepTask extends RecursiveAction {
+        private final ParameterRange[] grid;
+        private final FastResponseEvaluator fast;
+        private final SweepResult[] results;
+        private final AtomicLong bestIaeBits;
+        private final int from;
+        private final int to;
+
+        SweepTask(ParameterRange[] grid, FastResponseEvaluator fast, SweepResult[] results, AtomicLong bestIaeBits,
+                int from, int to) {
+            this.grid = grid;
+            this.fast = fast;
+            this.results = results;
+            this.bestIaeBits = bestIaeBits;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    results[i] = evaluate(grid, fast, i, bestIaeBits);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SweepTask(grid, fast, results, bestIaeBits, from, mid),
+                    new SweepTask(grid, fast, results, bestIaeBits, mid, to));
+        }
+    }
+}
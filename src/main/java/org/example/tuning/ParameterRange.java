@@ -0,0 +1,47 @@
+package org.example.tuning;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.example.algorithm.ControlAlgorithm;
+
+/**
+ * 参数扫描范围, 在 [min, max] 上均匀取 points 个点
+ */
+public record ParameterRange(String name, double min, double max, int points) {
+
+    public ParameterRange {
+        if (points < 1) {
+            throw new IllegalArgumentException("Range for " + name + " needs at least one point");
+        }
+        if (max < min) {
+            throw new IllegalArgumentException("Range for " + name + " has max < min");
+        }
+    }
+
+    public static ParameterRange fixed(String name, double value) {
+        return new ParameterRange(name, value, value, 1);
+    }
+
+    /**
+     * Builds ranges for every name in {@code template.getParameterNames()}.
+     * Names missing from {@code ranges} are held at the template's current value.
+     */
+    public static List<ParameterRange> forAlgorithm(ControlAlgorithm template, Map<String, ParameterRange> ranges) {
+        Map<String, Double> defaults = template.getCurrentParameters();
+        List<ParameterRange> result = new ArrayList<>();
+        for (String name : template.getParameterNames()) {
+            ParameterRange range = ranges.get(name);
+            result.add(range != null ? range : fixed(name, defaults.getOrDefault(name, 0.0)));
+        }
+        return result;
+    }
+
+    public double valueAt(int index) {
+        if (points == 1) {
+            return min;
+        }
+        return min + (max - min) * index / (points - 1);
+    }
+}
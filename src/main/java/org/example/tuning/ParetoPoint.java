@@ -0,0 +1,29 @@
+package org.example.tuning;
+
+import java.util.Map;
+
+import org.example.data.PerformanceMetrics;
+
+/**
+ * Pareto 前沿上的一个候选参数组合
+ * 目标依次为超调量、稳定时间、IAE 和控制能量 (∫u² dt), 均越小越好。
+ */
+public record ParetoPoint(Map<String, Double> parameters, PerformanceMetrics metrics, double controlEffort) {
+
+    public static final String[] OBJECTIVE_NAMES = { "Overshoot %", "Settling (s)", "IAE", "Effort" };
+
+    public double objective(int index) {
+        switch (index) {
+            case 0:
+                return metrics.overshoot();
+            case 1:
+                return metrics.settlingTime();
+            case 2:
+                return metrics.iae();
+            case 3:
+                return controlEffort;
+            default:
+                throw new IndexOutOfBoundsException("Objective index " + index);
+        }
+    }
+}
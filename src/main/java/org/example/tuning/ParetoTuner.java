@@ -0,0 +1,355 @@
+package org.example.tuning;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.example.algorithm.ControlAlgorithm;
+import org.example.data.PerformanceMetrics;
+import org.example.plant.Plant;
+import org.example.sim.SetpointProfile;
+import org.example.sim.SimulationEngine;
+import org.example.sim.SimulationResult;
+
+/**
+ * NSGA-II 多目标参数整定
+ * 同时最小化超调量、稳定时间、IAE 和控制能量, 返回最终种群的非支配前沿。
+ * 每一代的候选在 ForkJoin 线程池上并行仿真; 遗传操作使用固定种子, 结果可复现。
+ */
+public class ParetoTuner {
+    private static final int OBJECTIVES = ParetoPoint.OBJECTIVE_NAMES.length;
+    private static final double CROSSOVER_PROBABILITY = 0.9;
+    private static final double CROSSOVER_ETA = 15.0;
+    private static final double MUTATION_ETA = 20.0;
+
+    private final Supplier<? extends Plant> plantFactory;
+    private final Supplier<? extends ControlAlgorithm> algorithmFactory;
+    private final double dt;
+    private final double duration;
+    private SetpointProfile setpoint = SetpointProfile.step(5.0);
+    private double divergenceLimit = 1e3;
+    private int populationSize = 100;
+    private int generations = 60;
+    private long seed = 1L;
+    private IntConsumer progressListener;
+
+    public ParetoTuner(Supplier<? extends Plant> plantFactory, Supplier<? extends ControlAlgorithm> algorithmFactory,
+            double dt, double duration) {
+        this.plantFactory = plantFactory;
+        this.algorithmFactory = algorithmFactory;
+        this.dt = dt;
+        this.duration = duration;
+    }
+
+    public void setSetpoint(SetpointProfile setpoint) {
+        this.setpoint = setpoint;
+    }
+
+    /** A candidate is treated as diverged once |PV| exceeds this value or becomes non-finite. */
+    public void setDivergenceLimit(double divergenceLimit) {
+        this.divergenceLimit = divergenceLimit;
+    }
+
+    public void setPopulationSize(int populationSize) {
+        if (populationSize < 4) {
+            throw new IllegalArgumentException("Population size must be at least 4: " + populationSize);
+        }
+        this.populationSize = populationSize;
+    }
+
+    public void setGenerations(int generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Generations must be non-negative: " + generations);
+        }
+        this.generations = generations;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /** Called with the index of each finished generation, on the calling thread of {@link #run}. */
+    public void setProgressListener(IntConsumer progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    public List<ParetoPoint> run(List<ParameterRange> bounds) {
+        return run(bounds, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Searches within the [min, max] of each range (point counts are ignored) and returns the
+     * non-dominated candidates of the final population, ordered by ascending IAE.
+     */
+    public List<ParetoPoint> run(List<ParameterRange> bounds, ForkJoinPool pool) {
+        ParameterRange[] space = bounds.toArray(new ParameterRange[0]);
+        SplittableRandom random = new SplittableRandom(seed);
+
+        Candidate[] population = new Candidate[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            double[] genes = new double[space.length];
+            for (int d = 0; d < space.length; d++) {
+                genes[d] = space[d].min() == space[d].max() ? space[d].min()
+                        : random.nextDouble(space[d].min(), space[d].max());
+            }
+            population[i] = new Candidate(genes);
+        }
+        evaluate(space, population, pool);
+        assignRankAndCrowding(population);
+
+        for (int g = 0; g < generations; g++) {
+            Candidate[] offspring = new Candidate[populationSize];
+            for (int i = 0; i < populationSize; i += 2) {
+                Candidate[] children = crossover(space, tournament(population, random),
+                        tournament(population, random), random);
+                offspring[i] = mutate(space, children[0], random);
+                if (i + 1 < populationSize) {
+                    offspring[i + 1] = mutate(space, children[1], random);
+                }
+            }
+            evaluate(space, offspring, pool);
+
+            Candidate[] combined = Arrays.copyOf(population, populationSize * 2);
+            System.arraycopy(offspring, 0, combined, populationSize, populationSize);
+            population = select(combined, populationSize);
+            if (progressListener != null) {
+                progressListener.accept(g);
+            }
+        }
+
+        List<ParetoPoint> front = new ArrayList<>();
+        for (Candidate c : population) {
+            if (c.rank == 0 && !c.diverged) {
+                front.add(new ParetoPoint(Map.copyOf(c.parameters(space)), c.metrics, c.effort));
+            }
+        }
+        front.sort(Comparator.comparingDouble(p -> p.metrics().iae()));
+        return front;
+    }
+
+    private void evaluate(ParameterRange[] space, Candidate[] batch, ForkJoinPool pool) {
+        pool.submit(() -> IntStream.range(0, batch.length).parallel()
+                .forEach(i -> evaluate(space, batch[i]))).join();
+    }
+
+    private void evaluate(ParameterRange[] space, Candidate candidate) {
+        Plant plant = plantFactory.get();
+        ControlAlgorithm algorithm = algorithmFactory.get();
+        algorithm.setParameters(candidate.parameters(space));
+        algorithm.reset();
+        plant.reset();
+
+        boolean[] diverged = new boolean[1];
+        SimulationEngine engine = new SimulationEngine(dt);
+        engine.setRecordTrajectory(false);
+        engine.setAbortCondition((time, pv, runningIae) -> {
+            if (!Double.isFinite(pv) || Math.abs(pv) > divergenceLimit) {
+                diverged[0] = true;
+                return true;
+            }
+            return false;
+        });
+        SimulationResult result = engine.run(plant, algorithm, setpoint, duration);
+
+        candidate.metrics = result.metrics();
+        candidate.effort = result.controlEffort();
+        candidate.diverged = diverged[0];
+        if (candidate.diverged) {
+            Arrays.fill(candidate.objectives, Double.POSITIVE_INFINITY);
+        } else {
+            candidate.objectives[0] = candidate.metrics.overshoot();
+            candidate.objectives[1] = candidate.metrics.settlingTime();
+            candidate.objectives[2] = candidate.metrics.iae();
+            candidate.objectives[3] = candidate.effort;
+        }
+    }
+
+    private static Candidate tournament(Candidate[] population, SplittableRandom random) {
+        Candidate a = population[random.nextInt(population.length)];
+        Candidate b = population[random.nextInt(population.length)];
+        if (a.rank != b.rank) {
+            return a.rank < b.rank ? a : b;
+        }
+        return a.crowding >= b.crowding ? a : b;
+    }
+
+    /** Simulated binary crossover, clipped to the search bounds. */
+    private static Candidate[] crossover(ParameterRange[] space, Candidate p1, Candidate p2,
+            SplittableRandom random) {
+        double[] c1 = p1.genes.clone();
+        double[] c2 = p2.genes.clone();
+        if (random.nextDouble() < CROSSOVER_PROBABILITY) {
+            for (int d = 0; d < space.length; d++) {
+                if (random.nextDouble() >= 0.5 || Math.abs(c1[d] - c2[d]) < 1e-12) {
+                    continue;
+                }
+                double u = random.nextDouble();
+                double beta = u <= 0.5
+                        ? Math.pow(2.0 * u, 1.0 / (CROSSOVER_ETA + 1.0))
+                        : Math.pow(1.0 / (2.0 * (1.0 - u)), 1.0 / (CROSSOVER_ETA + 1.0));
+                double mean = 0.5 * (c1[d] + c2[d]);
+                double half = 0.5 * beta * (c2[d] - c1[d]);
+                c1[d] = clip(mean - half, space[d]);
+                c2[d] = clip(mean + half, space[d]);
+            }
+        }
+        return new Candidate[] { new Candidate(c1), new Candidate(c2) };
+    }
+
+    /** Polynomial mutation with probability 1/n per gene. */
+    private static Candidate mutate(ParameterRange[] space, Candidate candidate, SplittableRandom random) {
+        double probability = 1.0 / space.length;
+        for (int d = 0; d < space.length; d++) {
+            double span = space[d].max() - space[d].min();
+            if (span <= 0 || random.nextDouble() >= probability) {
+                continue;
+            }
+            double u = random.nextDouble();
+            double delta = u < 0.5
+                    ? Math.pow(2.0 * u, 1.0 / (MUTATION_ETA + 1.0)) - 1.0
+                    : 1.0 - Math.pow(2.0 * (1.0 - u), 1.0 / (MUTATION_ETA + 1.0));
+            candidate.genes[d] = clip(candidate.genes[d] + delta * span, space[d]);
+        }
+        return candidate;
+    }
+
+    private static double clip(double value, ParameterRange range) {
+        return Math.max(range.min(), Math.min(range.max(), value));
+    }
+
+    /** Environmental selection: whole fronts first, the last one cut by descending crowding distance. */
+    private static Candidate[] select(Candidate[] combined, int size) {
+        List<List<Candidate>> fronts = assignRankAndCrowding(combined);
+        Candidate[] next = new Candidate[size];
+        int filled = 0;
+        for (List<Candidate> front : fronts) {
+            if (filled + front.size() > size) {
+                front.sort(Comparator.comparingDouble((Candidate c) -> c.crowding).reversed());
+            }
+            for (Candidate c : front) {
+                if (filled == size) {
+                    return next;
+                }
+                next[filled++] = c;
+            }
+        }
+        return next;
+    }
+
+    /** Fast non-dominated sort followed by crowding distance per front. */
+    private static List<List<Candidate>> assignRankAndCrowding(Candidate[] population) {
+        int n = population.length;
+        int[] dominatedCount = new int[n];
+        List<List<Integer>> dominates = new ArrayList<>(n);
+        List<List<Candidate>> fronts = new ArrayList<>();
+        List<Integer> current = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            dominates.add(new ArrayList<>());
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                int cmp = dominance(population[i], population[j]);
+                if (cmp < 0) {
+                    dominates.get(i).add(j);
+                    dominatedCount[j]++;
+                } else if (cmp > 0) {
+                    dominates.get(j).add(i);
+                    dominatedCount[i]++;
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (dominatedCount[i] == 0) {
+                current.add(i);
+            }
+        }
+        int rank = 0;
+        while (!current.isEmpty()) {
+            List<Candidate> front = new ArrayList<>(current.size());
+            List<Integer> next = new ArrayList<>();
+            for (int i : current) {
+                population[i].rank = rank;
+                front.add(population[i]);
+                for (int j : dominates.get(i)) {
+                    if (--dominatedCount[j] == 0) {
+                        next.add(j);
+                    }
+                }
+            }
+            assignCrowding(front);
+            fronts.add(front);
+            current = next;
+            rank++;
+        }
+        return fronts;
+    }
+
+    private static void assignCrowding(List<Candidate> front) {
+        for (Candidate c : front) {
+            c.crowding = 0;
+        }
+        Candidate[] sorted = front.toArray(new Candidate[0]);
+        for (int m = 0; m < OBJECTIVES; m++) {
+            int objective = m;
+            Arrays.sort(sorted, Comparator.comparingDouble(c -> c.objectives[objective]));
+            double min = sorted[0].objectives[m];
+            double max = sorted[sorted.length - 1].objectives[m];
+            sorted[0].crowding = Double.POSITIVE_INFINITY;
+            sorted[sorted.length - 1].crowding = Double.POSITIVE_INFINITY;
+            double span = max - min;
+            if (!(span > 0) || !Double.isFinite(span)) {
+                continue;
+            }
+            for (int i = 1; i < sorted.length - 1; i++) {
+                sorted[i].crowding += (sorted[i + 1].objectives[m] - sorted[i - 1].objectives[m]) / span;
+            }
+        }
+    }
+
+    /** Negative if {@code a} dominates {@code b}, positive if {@code b} dominates {@code a}, else 0. */
+    private static int dominance(Candidate a, Candidate b) {
+        boolean aBetter = false;
+        boolean bBetter = false;
+        for (int m = 0; m < OBJECTIVES; m++) {
+            if (a.objectives[m] < b.objectives[m]) {
+                aBetter = true;
+            } else if (b.objectives[m] < a.objectives[m]) {
+                bBetter = true;
+            }
+        }
+        if (aBetter == bBetter) {
+            return 0;
+        }
+        return aBetter ? -1 : 1;
+    }
+
+    private static final class Candidate {
+        final double[] genes;
+        final double[] objectives = new double[OBJECTIVES];
+        PerformanceMetrics metrics;
+        double effort;
+        boolean diverged;
+        int rank;
+        double crowding;
+
+        Candidate(double[] genes) {
+            this.genes = genes;
+        }
+
+        Map<String, Double> parameters(ParameterRange[] space) {
+            Map<String, Double> params = new HashMap<>();
+            for (int d = 0; d < space.length; d++) {
+                params.put(space[d].name(), genes[d]);
+            }
+            return params;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.tuning;
+
+import java.util.Map;
+
+import org.example.data.PerformanceMetrics;
+
+/**
+ * 参数扫描中一个候选参数组合的结果
+ */
+public record SweepResult(Map<String, Double> parameters, PerformanceMetrics metrics, Outcome outcome) {
+
+    public enum Outcome {
+        COMPLETED("Completed"),
+        PRUNED("Pruned (IAE above best)"),
+        DIVERGED("Diverged");
+
+        private final String displayName;
+
+        Outcome(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    public boolean isCompleted() {
+        return outcome == Outcome.COMPLETED;
+    }
+}
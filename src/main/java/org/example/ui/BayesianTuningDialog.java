@@ -0,0 +1,209 @@
+package org.example.ui;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.GridLayout;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.SwingWorker;
+import javax.swing.table.DefaultTableModel;
+
+import org.example.algorithm.ControlAlgorithm;
+import org.example.data.PerformanceMetrics;
+import org.example.tuning.BayesianTuner;
+import org.example.tuning.ParameterRange;
+
+/**
+ * 贝叶斯优化整定对话框
+ * 每次仿真完成后即在表格中追加一行, 结束后可应用代价最低的参数。
+ */
+public class BayesianTuningDialog extends JDialog {
+
+    private enum CostChoice {
+        IAE("IAE", PerformanceMetrics::iae),
+        BALANCED("IAE + 0.05·Overshoot + 0.1·Settling", BayesianTuner.weightedCost(1.0, 0.05, 0.1, 0.0));
+
+        private final String displayName;
+        private final ToDoubleFunction<PerformanceMetrics> cost;
+
+        CostChoice(String displayName, ToDoubleFunction<PerformanceMetrics> cost) {
+            this.displayName = displayName;
+            this.cost = cost;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private final ControlVisualizer owner;
+    private final ControlAlgorithm algorithm;
+    private final Map<String, JTextField[]> boundFields = new LinkedHashMap<>();
+    private final JTextField budgetField = new JTextField("30", 4);
+    private final JTextField durationField = new JTextField("20.0", 6);
+    private final JComboBox<CostChoice> costBox = new JComboBox<>(CostChoice.values());
+    private final DefaultTableModel tableModel;
+    private final JLabel statusLabel = new JLabel("Ready");
+    private final JButton runButton = new JButton("Run");
+    private final JButton applyButton = new JButton("Apply Best");
+    private BayesianTuner.Sample best;
+
+    public BayesianTuningDialog(ControlVisualizer owner, ControlAlgorithm algorithm) {
+        super(owner, "Bayesian Optimization Tuning", false);
+        this.owner = owner;
+        this.algorithm = algorithm;
+        setSize(800, 500);
+        setLocationRelativeTo(owner);
+        setLayout(new BorderLayout());
+
+        String[] names = algorithm.getParameterNames();
+        Map<String, Double> current = algorithm.getCurrentParameters();
+        JPanel boundPanel = new JPanel(new GridLayout(names.length + 1, 3, 5, 5));
+        boundPanel.add(new JLabel("Parameter"));
+        boundPanel.add(new JLabel("Min"));
+        boundPanel.add(new JLabel("Max"));
+        for (String name : names) {
+            double value = current.getOrDefault(name, 0.0);
+            JTextField[] fields = {
+                    new JTextField("0.000", 6),
+                    new JTextField(String.format("%.3f", Math.max(value * 5.0, 1.0)), 6) };
+            boundFields.put(name, fields);
+            boundPanel.add(new JLabel(name + ":"));
+            boundPanel.add(fields[0]);
+            boundPanel.add(fields[1]);
+        }
+
+        JPanel configPanel = new JPanel(new BorderLayout());
+        configPanel.add(boundPanel, BorderLayout.CENTER);
+        JPanel runPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        runPanel.add(new JLabel("Cost:"));
+        runPanel.add(costBox);
+        runPanel.add(new JLabel("Simulations:"));
+        runPanel.add(budgetField);
+        runPanel.add(new JLabel("Duration (s):"));
+        runPanel.add(durationField);
+        runButton.addActionListener(e -> runTuning());
+        runPanel.add(runButton);
+        runPanel.add(statusLabel);
+        configPanel.add(runPanel, BorderLayout.SOUTH);
+        add(configPanel, BorderLayout.NORTH);
+
+        List<String> columns = new ArrayList<>(List.of("#"));
+        columns.addAll(List.of(names));
+        columns.addAll(List.of("Cost", "Best So Far"));
+        tableModel = new DefaultTableModel(columns.toArray(), 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        add(new JScrollPane(new JTable(tableModel)), BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        applyButton.setEnabled(false);
+        applyButton.addActionListener(e -> applyBest());
+        buttonPanel.add(applyButton);
+        add(buttonPanel, BorderLayout.SOUTH);
+    }
+
+    private void runTuning() {
+        Map<String, ParameterRange> bounds = new LinkedHashMap<>();
+        int budget;
+        double duration;
+        try {
+            for (Map.Entry<String, JTextField[]> entry : boundFields.entrySet()) {
+                JTextField[] f = entry.getValue();
+                bounds.put(entry.getKey(), new ParameterRange(entry.getKey(),
+                        Double.parseDouble(f[0].getText()), Double.parseDouble(f[1].getText()), 1));
+            }
+            budget = Integer.parseInt(budgetField.getText());
+            duration = Double.parseDouble(durationField.getText());
+            if (budget < 1) {
+                throw new IllegalArgumentException("Simulations must be at least 1");
+            }
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid tuning setup: " + ex.getMessage(), "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        BayesianTuner tuner = new BayesianTuner(owner::createPlantModel, owner::createAlgorithmModel,
+                owner.getSimulationDt(), duration);
+        tuner.setSetpoint(owner.getSetpointProfile());
+        tuner.setCost(((CostChoice) costBox.getSelectedItem()).cost);
+        List<ParameterRange> space = ParameterRange.forAlgorithm(owner.createAlgorithmModel(), bounds);
+
+        tableModel.setRowCount(0);
+        best = null;
+        runButton.setEnabled(false);
+        applyButton.setEnabled(false);
+        statusLabel.setText("Running...");
+        long start = System.nanoTime();
+        new SwingWorker<List<BayesianTuner.Sample>, BayesianTuner.Sample>() {
+            @Override
+            protected List<BayesianTuner.Sample> doInBackground() {
+                tuner.setSampleListener(this::publish);
+                return tuner.run(space, budget);
+            }
+
+            @Override
+            protected void process(List<BayesianTuner.Sample> chunks) {
+                for (BayesianTuner.Sample sample : chunks) {
+                    addRow(sample);
+                }
+                statusLabel.setText(String.format("Simulation %d of %d", tableModel.getRowCount(), budget));
+            }
+
+            @Override
+            protected void done() {
+                runButton.setEnabled(true);
+                try {
+                    best = BayesianTuner.best(get());
+                } catch (Exception ex) {
+                    statusLabel.setText("Tuning failed: " + ex.getMessage());
+                    return;
+                }
+                applyButton.setEnabled(best != null);
+                statusLabel.setText(String.format("%d simulations, best cost %s, %.2f s", budget,
+                        best != null ? String.format("%.4f", best.cost()) : "n/a",
+                        (System.nanoTime() - start) / 1e9));
+            }
+        }.execute();
+    }
+
+    private void addRow(BayesianTuner.Sample sample) {
+        if (!sample.diverged() && (best == null || sample.cost() < best.cost())) {
+            best = sample;
+        }
+        List<Object> row = new ArrayList<>();
+        row.add(tableModel.getRowCount() + 1);
+        for (String name : algorithm.getParameterNames()) {
+            row.add(String.format("%.3f", sample.parameters().get(name)));
+        }
+        row.add(sample.diverged() ? "Diverged" : String.format("%.4f", sample.cost()));
+        row.add(best != null ? String.format("%.4f", best.cost()) : "-");
+        tableModel.addRow(row.toArray());
+    }
+
+    private void applyBest() {
+        if (best == null) {
+            return;
+        }
+        algorithm.setParameters(best.parameters());
+        owner.onParametersChanged();
+    }
+}
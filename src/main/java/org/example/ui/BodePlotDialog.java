@@ -0,0 +1,147 @@
+package org.example.ui;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+import javax.swing.SwingWorker;
+
+import org.example.analysis.FrequencyResponse;
+import org.example.analysis.FrequencyResponseSweep;
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.LogAxis;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.CombinedDomainXYPlot;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+/**
+ * 闭环伯德图对话框
+ * 并行扫描正弦设定值下的闭环响应, 显示幅频 / 相频曲线、带宽和谐振峰值。
+ */
+public class BodePlotDialog extends JDialog {
+    private final ControlVisualizer owner;
+    private final JTextField minFreqField = new JTextField("0.01", 6);
+    private final JTextField maxFreqField;
+    private final JTextField pointsField = new JTextField("100", 4);
+    private final JTextField amplitudeField = new JTextField("1.0", 5);
+    private final XYSeries magnitudeSeries = new XYSeries("Magnitude", false, true);
+    private final XYSeries phaseSeries = new XYSeries("Phase", false, true);
+    private final JLabel statusLabel = new JLabel("Ready");
+    private final JLabel summaryLabel = new JLabel(" ");
+    private final JButton runButton = new JButton("Run Sweep");
+
+    public BodePlotDialog(ControlVisualizer owner) {
+        super(owner, "Closed-Loop Frequency Response", false);
+        this.owner = owner;
+        setSize(850, 650);
+        setLocationRelativeTo(owner);
+        setLayout(new BorderLayout());
+
+        // Default upper limit at a quarter of the Nyquist frequency
+        maxFreqField = new JTextField(String.format("%.3f", 0.125 / owner.getSimulationDt()), 6);
+        JPanel runPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        runPanel.add(new JLabel("From (Hz):"));
+        runPanel.add(minFreqField);
+        runPanel.add(new JLabel("To (Hz):"));
+        runPanel.add(maxFreqField);
+        runPanel.add(new JLabel("Points:"));
+        runPanel.add(pointsField);
+        runPanel.add(new JLabel("Amplitude:"));
+        runPanel.add(amplitudeField);
+        runButton.addActionListener(e -> runSweep());
+        runPanel.add(runButton);
+        runPanel.add(statusLabel);
+        add(runPanel, BorderLayout.NORTH);
+
+        LogAxis frequencyAxis = new LogAxis("Frequency (Hz)");
+        frequencyAxis.setSmallestValue(1e-4);
+        CombinedDomainXYPlot plot = new CombinedDomainXYPlot(frequencyAxis);
+        plot.add(new XYPlot(new XYSeriesCollection(magnitudeSeries), null, new NumberAxis("Magnitude (dB)"),
+                new XYLineAndShapeRenderer(true, false)), 1);
+        plot.add(new XYPlot(new XYSeriesCollection(phaseSeries), null, new NumberAxis("Phase (deg)"),
+                new XYLineAndShapeRenderer(true, false)), 1);
+        add(new ChartPanel(new JFreeChart("Closed-Loop Bode Plot", JFreeChart.DEFAULT_TITLE_FONT, plot, false)),
+                BorderLayout.CENTER);
+
+        JPanel summaryPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        summaryPanel.add(summaryLabel);
+        add(summaryPanel, BorderLayout.SOUTH);
+    }
+
+    private void runSweep() {
+        double minHz;
+        double maxHz;
+        int points;
+        double amplitude;
+        try {
+            minHz = Double.parseDouble(minFreqField.getText());
+            maxHz = Double.parseDouble(maxFreqField.getText());
+            points = Integer.parseInt(pointsField.getText());
+            amplitude = Double.parseDouble(amplitudeField.getText());
+            FrequencyResponseSweep.logSpace(minHz, maxHz, points);
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid sweep setup: " + ex.getMessage(), "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        FrequencyResponseSweep sweep = new FrequencyResponseSweep(owner::createPlantModel,
+                owner::createAlgorithmModel, owner.getSimulationDt());
+        sweep.setExcitation(amplitude, 0.0);
+
+        runButton.setEnabled(false);
+        statusLabel.setText("Running...");
+        new SwingWorker<FrequencyResponse, Void>() {
+            @Override
+            protected FrequencyResponse doInBackground() {
+                return sweep.run(minHz, maxHz, points);
+            }
+
+            @Override
+            protected void done() {
+                runButton.setEnabled(true);
+                FrequencyResponse response;
+                try {
+                    response = get();
+                } catch (Exception ex) {
+                    statusLabel.setText("Sweep failed: " + ex.getMessage());
+                    return;
+                }
+                statusLabel.setText(String.format("%d frequencies, %.2f s", response.size(),
+                        response.getElapsedNanos() / 1e9));
+                showResponse(response);
+            }
+        }.execute();
+    }
+
+    private void showResponse(FrequencyResponse response) {
+        magnitudeSeries.setNotify(false);
+        phaseSeries.setNotify(false);
+        magnitudeSeries.clear();
+        phaseSeries.clear();
+        for (int i = 0; i < response.size(); i++) {
+            if (Double.isNaN(response.magnitude(i))) {
+                continue; // diverged at this frequency
+            }
+            magnitudeSeries.add(response.frequency(i), response.magnitudeDb(i));
+            phaseSeries.add(response.frequency(i), response.phaseDegrees(i));
+        }
+        magnitudeSeries.setNotify(true);
+        phaseSeries.setNotify(true);
+
+        double bandwidth = response.bandwidth();
+        double peak = response.peakMagnitude();
+        summaryLabel.setText(String.format("Bandwidth (-3 dB): %s    Resonance peak Mr: %.3f (%.2f dB) at %.4f Hz",
+                Double.isNaN(bandwidth) ? "beyond sweep" : String.format("%.4f Hz", bandwidth),
+                peak, 20.0 * Math.log10(peak), response.peakFrequency()));
+    }
+}
@@ -8,26 +8,25 @@ import java.util.List;
 
 import javax.swing.JPanel;
 
-import org.example.data.DataPoint;
-import org.example.data.SimulationRun;
+import org.example.data.TrajectoryView;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.renderer.xy.XYItemRenderer;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.jfree.chart.ui.RectangleInsets;
-import org.jfree.data.time.Millisecond;
-import org.jfree.data.time.TimeSeries;
-import org.jfree.data.time.TimeSeriesCollection;
 
 public class ChartPanel extends JPanel {
     private final JFreeChart chart;
     private final org.jfree.chart.ChartPanel jfreeChartPanel;
-    private final TimeSeries pvSeries;
-    private final TimeSeries setpointSeries;
-    private final TimeSeries outSeries;
+    private static final int LIVE_CAPACITY = 1 << 14;
+    private static final double DEFAULT_VISIBLE_WINDOW = 60.0;
 
-    private final List<DataPoint> currentRunData = new ArrayList<>();
-    private final List<TimeSeries> comparisonSeries = new ArrayList<>();
+    private final RingBufferXYDataset liveDataset;
+
+    private final List<TrajectoryXYDataset> comparisonDatasets = new ArrayList<>();
     private int comparisonColorIndex = 0;
     private static final Color[] COMPARISON_COLORS = {
             new Color(255, 128, 0), // Orange
@@ -39,19 +38,15 @@ public class ChartPanel extends JPanel {
     public ChartPanel() {
         super(new BorderLayout());
 
-        pvSeries = new TimeSeries("Live PV");
-        setpointSeries = new TimeSeries("Live Setpoint");
-        outSeries = new TimeSeries("Live Output");
-
-        TimeSeriesCollection dataset = new TimeSeriesCollection();
-        dataset.addSeries(pvSeries);
-        dataset.addSeries(setpointSeries);
-        dataset.addSeries(outSeries);
+        liveDataset = new RingBufferXYDataset(LIVE_CAPACITY, DEFAULT_VISIBLE_WINDOW,
+                "Live PV", "Live Setpoint", "Live Output");
 
-        chart = ChartFactory.createTimeSeriesChart(
-                "System Response", "Time", "Value", dataset, true, true, false);
+        chart = ChartFactory.createXYLineChart(
+                "System Response", "Time (s)", "Value", liveDataset, PlotOrientation.VERTICAL, true, true, false);
 
         XYPlot plot = chart.getXYPlot();
+        NumberAxis domainAxis = (NumberAxis) plot.getDomainAxis();
+        domainAxis.setAutoRangeIncludesZero(false);
         plot.setBackgroundPaint(Color.WHITE);
         plot.setDomainGridlinePaint(Color.LIGHT_GRAY);
         plot.setRangeGridlinePaint(Color.LIGHT_GRAY);
@@ -73,58 +68,61 @@ public class ChartPanel extends JPanel {
     }
 
     public void addDataPoint(double time, double pv, double setpoint, double out) {
-        Millisecond now = new Millisecond();
-        pvSeries.addOrUpdate(now, pv);
-        setpointSeries.addOrUpdate(now, setpoint);
-        outSeries.addOrUpdate(now, out);
+        appendDataPoint(time, pv, setpoint, out);
+        flushDataPoints();
+    }
 
-        currentRunData.add(new DataPoint(time, pv, setpoint, out));
+    /**
+     * Adds a sample to the live curves without repainting; call {@link #flushDataPoints()} once per batch.
+     */
+    public void appendDataPoint(double time, double pv, double setpoint, double out) {
+        liveDataset.append(time, pv, setpoint, out);
     }
 
-    public List<Double> getPvDataForFFT() {
-        return currentRunData.stream().map(DataPoint::pv).toList();
+    public void flushDataPoints() {
+        liveDataset.fireBatchChanged();
     }
 
-    public List<DataPoint> getCurrentRunData() {
-        return new ArrayList<>(currentRunData);
+    /**
+     * Seconds of simulation time shown by the live curves; 0 shows everything the buffer retains.
+     */
+    public void setVisibleWindow(double seconds) {
+        liveDataset.setVisibleWindow(seconds);
+    }
+
+    public double getVisibleWindow() {
+        return liveDataset.getVisibleWindow();
     }
 
     public void reset() {
-        pvSeries.clear();
-        setpointSeries.clear();
-        outSeries.clear();
-        currentRunData.clear();
+        liveDataset.clear();
         clearComparisonRuns();
     }
 
-    public void displayComparisonRun(SimulationRun run) {
-        TimeSeries series = new TimeSeries("PV: " + run.getName());
-        long startTimeMillis = System.currentTimeMillis();
-        for (DataPoint dp : run.getData()) {
-            // We use Millisecond to align with the live chart's time axis type
-            long timeOffset = (long) (dp.time() * 1000);
-            series.add(new Millisecond(new java.util.Date(startTimeMillis + timeOffset)), dp.pv());
-        }
+    public void displayComparisonRun(String runName, TrajectoryView data) {
+        TrajectoryXYDataset dataset = new TrajectoryXYDataset("PV: " + runName, data);
+        comparisonDatasets.add(dataset);
 
-        comparisonSeries.add(series);
-        XYPlot plot = chart.getXYPlot();
-        ((TimeSeriesCollection) plot.getDataset()).addSeries(series);
-
-        int seriesIndex = plot.getDataset().getSeriesCount() - 1;
-        XYItemRenderer renderer = plot.getRenderer();
-        renderer.setSeriesPaint(seriesIndex, COMPARISON_COLORS[comparisonColorIndex % COMPARISON_COLORS.length]);
-        renderer.setSeriesStroke(seriesIndex,
+        XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer(true, false);
+        renderer.setSeriesPaint(0, COMPARISON_COLORS[comparisonColorIndex % COMPARISON_COLORS.length]);
+        renderer.setSeriesStroke(0,
                 new BasicStroke(1.5f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[] { 3, 3 }, 0));
+
+        // Comparison runs share the simulation-time axis with the live curves, starting at t = 0
+        XYPlot plot = chart.getXYPlot();
+        int index = comparisonDatasets.size();
+        plot.setDataset(index, dataset);
+        plot.setRenderer(index, renderer);
         comparisonColorIndex++;
     }
 
     public void clearComparisonRuns() {
         XYPlot plot = chart.getXYPlot();
-        TimeSeriesCollection dataset = (TimeSeriesCollection) plot.getDataset();
-        for (TimeSeries series : comparisonSeries) {
-            dataset.removeSeries(series);
+        for (int i = 1; i <= comparisonDatasets.size(); i++) {
+            plot.setDataset(i, null);
+            plot.setRenderer(i, null);
         }
-        comparisonSeries.clear();
+        comparisonDatasets.clear();
         comparisonColorIndex = 0;
     }
 }
@@ -2,12 +2,12 @@ package org.example.ui;
 
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.TimerTask;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -22,15 +22,26 @@ import javax.swing.UIManager;
 
 import org.example.algorithm.ControlAlgorithm;
 import org.example.algorithm.PIDController;
-import org.example.data.DataPoint;
+import org.example.analysis.LoopAnalyzer;
+import org.example.analysis.StabilityMargins;
 import org.example.data.PerformanceMetrics;
-import org.example.data.PerformanceMetricsCalculator;
+import org.example.data.RunCatalog;
 import org.example.data.SimulationRun;
+import org.example.data.TrajectoryView;
+import org.example.monitor.LoopMonitor;
 import org.example.plant.FirstOrderPlant;
+import org.example.plant.LinearPlant;
 import org.example.plant.Plant;
+import org.example.sim.Pacing;
+import org.example.sim.SetpointProfile;
+import org.example.sim.SimulationEngine;
+import org.example.sim.SimulationResult;
+import org.example.sim.TickScheduler;
 
 public class ControlVisualizer extends JFrame {
     private static final double SIMULATION_DT = 0.05;
+    private static final int UI_FRAME_RATE = 60;
+    private static final int UI_QUEUE_CAPACITY = 1 << 16;
 
     // 输入模式枚举
     private enum InputMode {
@@ -45,19 +56,58 @@ public class ControlVisualizer extends JFrame {
     private RealTimeDisplayPanel realTimeDisplayPanel;
     private JButton startButton, stopButton, resetButton, fftButton, manageRunsButton;
     private JComboBox<String> inputModeBox;
-    private JTextField amplitudeField, freqField, offsetField;
+    private JComboBox<TickScheduler.CatchUpPolicy> catchUpBox;
+    private JTextField amplitudeField, freqField, offsetField, windowField;
 
     // Simulation State
     private boolean isRunning = false;
-    private java.util.Timer simulationTimer;
+    private SimulationEngine simulationEngine;
+    private Thread simulationThread;
+    private SimulationResult simulationResult; // written by the simulation thread, read after join
     private Plant plant;
+    private LoopAnalyzer loopAnalyzer;
     private ControlAlgorithm currentAlgorithm;
-    private double currentTime = 0.0;
+    private TrajectoryView lastRunData;
+    private PerformanceMetrics lastRunMetrics;
 
     // Data Management
-    private List<SimulationRun> savedRuns = new ArrayList<>();
-    private double initialValueForMetrics = 0.0;
-    private double setpointForMetrics = 0.0;
+    private final RunCatalog runCatalog = new RunCatalog();
+    // Step setpoint for the running loop; written on the EDT, read by the simulation thread every tick
+    private volatile double stepSetpoint;
+    private final LoopMonitor loopMonitor = new LoopMonitor();
+    private final List<FramePublisher.FrameConsumer> frameListeners = new ArrayList<>();
+    private final FramePublisher framePublisher = new FramePublisher(UI_QUEUE_CAPACITY, UI_FRAME_RATE,
+            new FramePublisher.FrameConsumer() {
+                private double lastPv, lastSetpoint, lastOutput;
+
+                @Override
+                public void accept(double time, double pv, double setpoint, double output) {
+                    chartPanel.appendDataPoint(time, pv, setpoint, output);
+                    lastPv = pv;
+                    lastSetpoint = setpoint;
+                    lastOutput = output;
+                    for (int i = 0; i < frameListeners.size(); i++) {
+                        frameListeners.get(i).accept(time, pv, setpoint, output);
+                    }
+                }
+
+                @Override
+                public void onFrameEnd(int samplesInFrame) {
+                    if (samplesInFrame == 0)
+                        return;
+                    chartPanel.flushDataPoints();
+                    realTimeDisplayPanel.updateValues(lastPv, lastSetpoint, lastOutput);
+                    // From the engine's own accumulator, so samples dropped by the queue still count
+                    if (simulationEngine != null) {
+                        realTimeDisplayPanel.updateMetrics(simulationEngine.getLiveMetrics());
+                    }
+                    if (isRunning)
+                        realTimeDisplayPanel.setStatus(runningStatus());
+                    for (int i = 0; i < frameListeners.size(); i++) {
+                        frameListeners.get(i).onFrameEnd(samplesInFrame);
+                    }
+                }
+            });
 
     public ControlVisualizer() {
         setupUI();
@@ -68,12 +118,111 @@ public class ControlVisualizer extends JFrame {
         return chartPanel;
     }
 
-    public List<SimulationRun> getSavedRuns() {
-        return savedRuns;
+    public RunCatalog getRunCatalog() {
+        return runCatalog;
+    }
+
+    public double getSimulationDt() {
+        return SIMULATION_DT;
+    }
+
+    /**
+     * Creates a fresh plant with the same model as the live loop, for headless analysis.
+     */
+    public Plant createPlantModel() {
+        return createPlantModel(1.0, 1.0);
+    }
+
+    /**
+     * Creates a plant of the live model's type with perturbed parameters.
+     */
+    public Plant createPlantModel(double timeConstant, double gain) {
+        return new FirstOrderPlant(timeConstant, gain, SIMULATION_DT);
+    }
+
+    /**
+     * Creates a fresh controller of the live algorithm's type carrying its current parameters.
+     */
+    public ControlAlgorithm createAlgorithmModel() {
+        ControlAlgorithm model = new PIDController();
+        model.setParameters(currentAlgorithm.getCurrentParameters());
+        return model;
+    }
+
+    /**
+     * The setpoint profile currently configured by the input mode controls.
+     */
+    public SetpointProfile getSetpointProfile() {
+        if (inputMode == InputMode.SINE) {
+            try {
+                return SetpointProfile.sine(Double.parseDouble(amplitudeField.getText()),
+                        Double.parseDouble(freqField.getText()), Double.parseDouble(offsetField.getText()));
+            } catch (NumberFormatException e) {
+                // Fall back to the step setpoint below
+            }
+        }
+        return SetpointProfile.step(parameterPanel.getSetpoint());
+    }
+
+    /**
+     * Analytical margins of the live loop for the given PID gains, or null when the plant model has no
+     * transfer function. The plant grid is computed once and reused on every call.
+     */
+    public StabilityMargins analyzeMargins(Map<String, Double> parameters) {
+        if (loopAnalyzer == null) {
+            Plant model = createPlantModel();
+            if (!(model instanceof LinearPlant) || !((LinearPlant) model).isLinear()) {
+                return null;
+            }
+            loopAnalyzer = new LoopAnalyzer((LinearPlant) model, SIMULATION_DT);
+        }
+        return loopAnalyzer.analyze(parameters);
     }
 
-    public void setSavedRuns(List<SimulationRun> runs) {
-        this.savedRuns = runs;
+    /**
+     * Called on the EDT whenever the setpoint field changes, so a running step test follows it.
+     */
+    public void onSetpointChanged() {
+        stepSetpoint = parameterPanel.getSetpoint();
+    }
+
+    public void onParametersChanged() {
+        parameterPanel.updateParameterFields();
+    }
+
+    public void showGridSweep() {
+        if (isRunning)
+            stopSimulation();
+        GridSweepDialog dialog = new GridSweepDialog(this, currentAlgorithm);
+        dialog.setVisible(true);
+    }
+
+    public void showParetoTuning() {
+        if (isRunning)
+            stopSimulation();
+        ParetoTuningDialog dialog = new ParetoTuningDialog(this, currentAlgorithm);
+        dialog.setVisible(true);
+    }
+
+    public void showBayesianTuning() {
+        if (isRunning)
+            stopSimulation();
+        BayesianTuningDialog dialog = new BayesianTuningDialog(this, currentAlgorithm);
+        dialog.setVisible(true);
+    }
+
+    public void showBodePlot() {
+        if (isRunning)
+            stopSimulation();
+        BodePlotDialog dialog = new BodePlotDialog(this);
+        dialog.setVisible(true);
+    }
+
+    public void showMonteCarlo() {
+        if (isRunning)
+            stopSimulation();
+        MonteCarloDialog dialog = new MonteCarloDialog(this);
+        dialog.setVisible(true);
     }
 
     // ---------------- UI ----------------
@@ -127,6 +276,17 @@ public class ControlVisualizer extends JFrame {
         offsetField = new JTextField("5.0", 4);
         inputConfigPanel.add(offsetField);
 
+        inputConfigPanel.add(new JLabel("Window(s):"));
+        windowField = new JTextField("60", 4);
+        windowField.setToolTipText("Seconds of live data shown on the chart, 0 for all");
+        windowField.addActionListener(e -> updateVisibleWindow());
+        inputConfigPanel.add(windowField);
+
+        inputConfigPanel.add(new JLabel("Catch-up:"));
+        catchUpBox = new JComboBox<>(TickScheduler.CatchUpPolicy.values());
+        catchUpBox.setToolTipText("What the real-time loop does after falling more than one tick behind");
+        inputConfigPanel.add(catchUpBox);
+
         // 初始禁用正弦参数（因为默认是阶跃模式）
         amplitudeField.setEnabled(false);
         freqField.setEnabled(false);
@@ -165,23 +325,51 @@ public class ControlVisualizer extends JFrame {
         }
     }
 
+    private void updateVisibleWindow() {
+        try {
+            chartPanel.setVisibleWindow(Math.max(0.0, Double.parseDouble(windowField.getText())));
+        } catch (NumberFormatException e) {
+            windowField.setText(String.valueOf(chartPanel.getVisibleWindow()));
+        }
+    }
+
     // ---------------- 初始化系统 ----------------
     private void initializeSystem() {
-        plant = new FirstOrderPlant(1.0, 1.0, SIMULATION_DT);
+        plant = createPlantModel();
         currentAlgorithm = new PIDController();
         parameterPanel.setAlgorithm(currentAlgorithm);
 
         if (currentAlgorithm instanceof PIDController) {
-            ((PIDController) currentAlgorithm).setAutoTuneListener(() -> SwingUtilities.invokeLater(() -> {
+            ((PIDController) currentAlgorithm).setAutoTuneListener(result -> SwingUtilities.invokeLater(() -> {
                 parameterPanel.updateParameterFields();
                 stopSimulation();
-                realTimeDisplayPanel.setStatus("Auto-tuning complete.");
+                realTimeDisplayPanel.setStatus(result.success() ? "Auto-tuning complete." : "Auto-tuning failed.");
                 parameterPanel.setButtonsEnabled(true);
+                JOptionPane.showMessageDialog(this, result.message(), "Auto-Tune Result",
+                        result.success() ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.ERROR_MESSAGE);
             }));
         }
+        initializeMonitoring();
         resetSystem();
     }
 
+    /**
+     * Exposes loop timings over JMX; -Dmonitor.dump=file appends a snapshot every -Dmonitor.dumpPeriod
+     * seconds (default 10).
+     */
+    private void initializeMonitoring() {
+        loopMonitor.registerMBean();
+        framePublisher.setMonitor(loopMonitor);
+        String dumpFile = System.getProperty("monitor.dump");
+        if (dumpFile != null && !dumpFile.isBlank()) {
+            loopMonitor.startSnapshotDump(Path.of(dumpFile), Long.getLong("monitor.dumpPeriod", 10L));
+        }
+    }
+
+    public LoopMonitor getLoopMonitor() {
+        return loopMonitor;
+    }
+
     // ---------------- 开始仿真 ----------------
     private void startSimulation() {
         if (isRunning)
@@ -189,7 +377,8 @@ public class ControlVisualizer extends JFrame {
 
         plant.reset();
         chartPanel.reset();
-        currentTime = 0.0;
+        lastRunData = null;
+        lastRunMetrics = null;
 
         if (currentAlgorithm.isAutoTuning()) {
             parameterPanel.setButtonsEnabled(false);
@@ -198,42 +387,30 @@ public class ControlVisualizer extends JFrame {
         }
 
         isRunning = true;
-        initialValueForMetrics = plant.getState();
-        setpointForMetrics = parameterPanel.getSetpoint();
-
-        simulationTimer = new java.util.Timer();
-        simulationTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                if (!isRunning)
-                    return;
-
-                currentTime += SIMULATION_DT;
-                double setpoint;
-                if (inputMode == InputMode.STEP) {
-                    setpoint = parameterPanel.getSetpoint();
-                } else {
-                    double amplitude = Double.parseDouble(amplitudeField.getText());
-                    double freq = Double.parseDouble(freqField.getText());
-                    double offset = Double.parseDouble(offsetField.getText());
-                    setpoint = amplitude * Math.sin(2 * Math.PI * freq * currentTime) + offset;
-                }
+        stepSetpoint = parameterPanel.getSetpoint();
+        for (int i = 0; i < frameListeners.size(); i++) {
+            frameListeners.get(i).onRunStart();
+        }
 
-                double pv = plant.getState();
-                double controlOutput = currentAlgorithm.calculate(setpoint, pv, currentTime);
-                plant.update(controlOutput);
-                double newPv = plant.getState();
-
-                SwingUtilities.invokeLater(() -> {
-                    chartPanel.addDataPoint(currentTime, newPv, setpoint, controlOutput);
-                    realTimeDisplayPanel.updateValues(newPv, setpoint, controlOutput);
-                    String status = currentAlgorithm.isAutoTuning()
-                            ? ((PIDController) currentAlgorithm).getAutoTuneStatus()
-                            : "Running...";
-                    realTimeDisplayPanel.setStatus(status);
-                });
-            }
-        }, 0, (long) (SIMULATION_DT * 1000));
+        // The step setpoint is read every tick so edits take effect while running
+        SetpointProfile setpoint = inputMode == InputMode.STEP
+                ? t -> stepSetpoint
+                : getSetpointProfile();
+
+        SimulationEngine engine = new SimulationEngine(SIMULATION_DT);
+        engine.setPacing(Pacing.realTime());
+        engine.setCatchUpPolicy((TickScheduler.CatchUpPolicy) catchUpBox.getSelectedItem());
+        // The EDT drains the queue once per frame instead of receiving one event per tick
+        engine.setStepListener(framePublisher::publish);
+        engine.setMonitor(loopMonitor);
+        engine.setPublishMetrics(true);
+        simulationEngine = engine;
+
+        simulationThread = new Thread(() -> simulationResult = engine.run(plant, currentAlgorithm, setpoint,
+                Double.POSITIVE_INFINITY), "simulation-loop");
+        simulationThread.setDaemon(true);
+        framePublisher.start();
+        simulationThread.start();
 
         setTitle("Control System Visualizer [RUNNING]");
     }
@@ -243,10 +420,22 @@ public class ControlVisualizer extends JFrame {
         if (!isRunning)
             return;
         isRunning = false;
-        if (simulationTimer != null) {
-            simulationTimer.cancel();
-            simulationTimer = null;
+        if (simulationThread != null) {
+            simulationEngine.stop();
+            try {
+                simulationThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            simulationThread = null;
+            // join() makes the result written by the simulation thread visible here
+            if (simulationResult != null) {
+                lastRunData = simulationResult.trajectory();
+                lastRunMetrics = simulationResult.metrics();
+                simulationResult = null;
+            }
         }
+        framePublisher.stop();
         setTitle("Control System Visualizer [STOPPED]");
         realTimeDisplayPanel.setStatus("Stopped. Ready to save run.");
         parameterPanel.setButtonsEnabled(true);
@@ -259,12 +448,48 @@ public class ControlVisualizer extends JFrame {
         plant.reset();
         currentAlgorithm.reset();
         chartPanel.reset();
-        currentTime = 0.0;
+        lastRunData = null;
+        lastRunMetrics = null;
         realTimeDisplayPanel.updateValues(plant.getState(), parameterPanel.getSetpoint(), 0);
+        realTimeDisplayPanel.updateMetrics(null);
         realTimeDisplayPanel.setStatus("System Reset. Ready.");
         parameterPanel.setButtonsEnabled(true);
     }
 
+    private String runningStatus() {
+        String status = currentAlgorithm.isAutoTuning()
+                ? ((PIDController) currentAlgorithm).getAutoTuneStatus()
+                : "Running...";
+        TickScheduler scheduler = simulationEngine != null ? simulationEngine.getScheduler() : null;
+        if (scheduler != null && scheduler.getOverruns() > 0) {
+            status += String.format(" [late max %.1f ms, overruns %d, skipped %d]",
+                    scheduler.getMaxLatenessNanos() / 1e6, scheduler.getOverruns(),
+                    scheduler.getSkippedDeadlines());
+        }
+        long droppedFrames = framePublisher.getDroppedFrames();
+        long droppedSamples = framePublisher.getDroppedSamples();
+        if (droppedFrames > 0 || droppedSamples > 0) {
+            status += String.format(" [queue max %d, dropped frames %d, dropped samples %d]",
+                    framePublisher.getMaxQueueDepth(), droppedFrames, droppedSamples);
+        }
+        return status;
+    }
+
+    public FramePublisher getFramePublisher() {
+        return framePublisher;
+    }
+
+    /**
+     * Receives every sample rendered by the UI, on the EDT. Must be called on the EDT.
+     */
+    public void addFrameListener(FramePublisher.FrameConsumer listener) {
+        frameListeners.add(listener);
+    }
+
+    public void removeFrameListener(FramePublisher.FrameConsumer listener) {
+        frameListeners.remove(listener);
+    }
+
     public void startAutoTune(double setpoint, PIDController.TuningRule rule) {
         if (!(currentAlgorithm instanceof PIDController))
             return;
@@ -272,7 +497,6 @@ public class ControlVisualizer extends JFrame {
             stopSimulation();
         plant.reset();
         chartPanel.reset();
-        currentTime = 0.0;
         realTimeDisplayPanel.updateValues(0, 0, 0);
         realTimeDisplayPanel.setStatus("Preparing for Auto-Tune...");
         ((PIDController) currentAlgorithm).startAutoTune(setpoint, rule);
@@ -280,15 +504,17 @@ public class ControlVisualizer extends JFrame {
     }
 
     private void showFrequencyAnalysis() {
-        if (isRunning)
-            stopSimulation();
-        List<Double> pvData = chartPanel.getPvDataForFFT();
-        if (pvData.isEmpty()) {
+        if (isRunning) {
+            FrequencyAnalysisDialog.live(this, SIMULATION_DT).setVisible(true);
+            return;
+        }
+        TrajectoryView runData = lastRunData;
+        if (runData == null || runData.isEmpty()) {
             JOptionPane.showMessageDialog(this, "No data available for analysis. Please run a simulation first.",
                     "FFT Error", JOptionPane.ERROR_MESSAGE);
             return;
         }
-        FrequencyAnalysisDialog dialog = new FrequencyAnalysisDialog(this, pvData, SIMULATION_DT);
+        FrequencyAnalysisDialog dialog = new FrequencyAnalysisDialog(this, runData, SIMULATION_DT);
         dialog.setVisible(true);
     }
 
@@ -302,22 +528,21 @@ public class ControlVisualizer extends JFrame {
             else
                 return;
         }
-        RunManagerDialog dialog = new RunManagerDialog(this, savedRuns);
+        RunManagerDialog dialog = new RunManagerDialog(this, runCatalog);
         dialog.setVisible(true);
     }
 
     private void captureCurrentRun() {
-        List<DataPoint> data = chartPanel.getCurrentRunData();
+        TrajectoryView data = lastRunData;
         if (data == null || data.size() < 10)
             return;
         String defaultName = "Run @ " + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
         String runName = JOptionPane.showInputDialog(this, "Enter run name:", defaultName);
         if (runName != null && !runName.trim().isEmpty()) {
             Map<String, Double> params = currentAlgorithm.getCurrentParameters();
-            PerformanceMetrics metrics = PerformanceMetricsCalculator.calculate(data, initialValueForMetrics,
-                    setpointForMetrics);
-            SimulationRun run = new SimulationRun(runName, params, data, metrics);
-            savedRuns.add(run);
+            // Metrics were accumulated by the engine while the run was recorded, no second pass
+            SimulationRun run = new SimulationRun(runName, params, data, lastRunMetrics);
+            runCatalog.add(run);
             realTimeDisplayPanel.setStatus("'" + runName + "' saved successfully!");
         } else {
             realTimeDisplayPanel.setStatus("Run finished but not saved.");
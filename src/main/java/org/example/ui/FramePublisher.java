@@ -0,0 +1,123 @@
+package org.example.ui;
+
+import javax.swing.Timer;
+
+import org.example.monitor.LoopMonitor;
+import org.example.sim.SampleQueue;
+
+/**
+ * 按帧合并的界面发布器
+ * 仿真线程把样本写入无锁队列, EDT 上的 Swing 定时器以固定帧率成批取出,
+ * 每帧只刷新一次图表和标签。同时统计丢帧数和队列深度;
+ * 设置监控器后, 还记录每帧最早样本从发布到渲染完成的延迟。
+ */
+public class FramePublisher {
+
+    /**
+     * Called on the EDT for every drained sample and once at the end of each frame.
+     */
+    public interface FrameConsumer extends SampleQueue.Consumer {
+        void onFrameEnd(int samplesInFrame);
+
+        /**
+         * Called on the EDT before a new simulation run publishes its first sample.
+         */
+        default void onRunStart() {
+        }
+    }
+
+    private final SampleQueue queue;
+    private final FrameConsumer consumer;
+    private final Timer frameTimer;
+    private final long frameNanos;
+
+    private long lastFrameNanos = 0;
+    private long framesRendered = 0;
+    private long droppedFrames = 0;
+    private int maxQueueDepth = 0;
+    private volatile LoopMonitor monitor;
+
+    public FramePublisher(int queueCapacity, int framesPerSecond, FrameConsumer consumer) {
+        this.queue = new SampleQueue(queueCapacity);
+        this.consumer = consumer;
+        this.frameNanos = 1_000_000_000L / framesPerSecond;
+        this.frameTimer = new Timer(Math.max(1, 1000 / framesPerSecond), e -> renderFrame());
+    }
+
+    /**
+     * Called from the simulation thread.
+     *
+     * @return false if the queue was full and the sample was dropped
+     */
+    public boolean publish(double time, double pv, double setpoint, double output) {
+        LoopMonitor m = monitor;
+        return queue.offer(time, pv, setpoint, output, m != null ? System.nanoTime() : 0L);
+    }
+
+    public void setMonitor(LoopMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    public void start() {
+        queue.clear();
+        lastFrameNanos = 0;
+        framesRendered = 0;
+        droppedFrames = 0;
+        maxQueueDepth = 0;
+        frameTimer.start();
+    }
+
+    /**
+     * Stops the frame timer and renders whatever is still queued. Must be called on the EDT.
+     */
+    public void stop() {
+        frameTimer.stop();
+        renderFrame();
+    }
+
+    private void renderFrame() {
+        long now = System.nanoTime();
+        if (lastFrameNanos != 0) {
+            // Swing coalesces late timer events, so a long gap means frames were skipped
+            long missed = (now - lastFrameNanos) / frameNanos - 1;
+            if (missed > 0) {
+                droppedFrames += missed;
+            }
+        }
+        lastFrameNanos = now;
+
+        int depth = queue.size();
+        if (depth > maxQueueDepth) {
+            maxQueueDepth = depth;
+        }
+        long oldestStamp = queue.peekStamp();
+        // Only what is queued now; samples arriving meanwhile belong to the next frame
+        int drained = queue.drain(consumer, depth);
+        framesRendered++;
+        consumer.onFrameEnd(drained);
+        LoopMonitor m = monitor;
+        if (m != null && drained > 0 && oldestStamp != 0L) {
+            m.recordRenderLatency(System.nanoTime() - oldestStamp);
+        }
+    }
+
+    public long getFramesRendered() {
+        return framesRendered;
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    public long getDroppedSamples() {
+        return queue.getDroppedSamples();
+    }
+}
@@ -1,15 +1,18 @@
 package org.example.ui;
 
 import java.awt.BorderLayout;
-import java.util.List;
+import java.awt.FlowLayout;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
+import javax.swing.JComboBox;
 import javax.swing.JDialog;
-import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
 
-import org.apache.commons.math3.complex.Complex;
-import org.apache.commons.math3.transform.DftNormalization;
-import org.apache.commons.math3.transform.FastFourierTransformer;
-import org.apache.commons.math3.transform.TransformType;
+import org.example.analysis.WelchSpectrumEstimator;
+import org.example.data.TrajectoryView;
+import org.example.monitor.SpectrumAnalysisEvent;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
@@ -19,77 +22,143 @@ import org.jfree.data.xy.XYSeriesCollection;
 
 /**
  * 频域分析对话框
+ * 用 Welch 方法 (Hann 窗, 50% 重叠) 估计 PV 的功率谱密度。
+ * 仿真运行时订阅界面帧, 每完成一个新段才重绘, 每帧开销恒定; 停止后分析整段记录。
  */
-public class FrequencyAnalysisDialog extends JDialog {
+public class FrequencyAnalysisDialog extends JDialog implements FramePublisher.FrameConsumer {
+    private static final Integer[] SEGMENT_LENGTHS = { 64, 128, 256, 512, 1024, 2048, 4096 };
+    private static final int DEFAULT_SEGMENT_LENGTH = 256;
+    private static final double MIN_PSD = 1e-20; // floor for the dB scale
 
-    public FrequencyAnalysisDialog(JFrame owner, List<Double> pvData, double dt) {
-        super(owner, "Frequency Domain Analysis (FFT of PV)", true);
-        setSize(800, 500);
-        setLocationRelativeTo(owner);
-        setLayout(new BorderLayout());
-
-        // 准备数据进行FFT
-        double[] data = prepareDataForFFT(pvData);
-        if (data == null || data.length == 0) {
-            // 处理数据不足的情况
-            add(new javax.swing.JLabel("Not enough data for frequency analysis."), BorderLayout.CENTER);
-            return;
-        }
+    private final TrajectoryView runData;
+    private final double dt;
+    private final XYSeries series = new XYSeries("PSD", false, true);
+    private final JComboBox<Integer> segmentBox = new JComboBox<>(SEGMENT_LENGTHS);
+    private final JLabel statusLabel = new JLabel();
+    private WelchSpectrumEstimator estimator;
+    private double[] psd;
+    private int renderedSegments = -1;
 
-        // 执行FFT
-        FastFourierTransformer transformer = new FastFourierTransformer(DftNormalization.STANDARD);
-        Complex[] result = transformer.transform(data, TransformType.FORWARD);
+    /**
+     * Analyzes a finished run.
+     */
+    public FrequencyAnalysisDialog(ControlVisualizer owner, TrajectoryView runData, double dt) {
+        super(owner, "Frequency Domain Analysis (Welch PSD of PV)", false);
+        this.runData = runData;
+        this.dt = dt;
+        setupUI(owner);
+        rebuildEstimator();
+    }
 
-        // 创建图表数据集
-        XYSeries series = new XYSeries("Amplitude Spectrum");
-        int n = data.length;
-        double samplingFrequency = 1.0 / dt;
+    /**
+     * Follows the running simulation until the dialog is closed.
+     */
+    public static FrequencyAnalysisDialog live(ControlVisualizer owner, double dt) {
+        FrequencyAnalysisDialog dialog = new FrequencyAnalysisDialog(owner, null, dt);
+        dialog.setTitle("Live Frequency Analysis (Welch PSD of PV)");
+        owner.addFrameListener(dialog);
+        dialog.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                owner.removeFrameListener(dialog);
+            }
+        });
+        return dialog;
+    }
 
-        // 频谱图只需要前半部分数据 (Nyquist 频率之前)
-        for (int i = 0; i < n / 2; i++) {
-            double frequency = i * samplingFrequency / n;
-            double magnitude = result[i].abs() / n; // 归一化幅度
-            series.add(frequency, magnitude);
-        }
+    private void setupUI(ControlVisualizer owner) {
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        setSize(800, 500);
+        setLocationRelativeTo(owner);
+        setLayout(new BorderLayout());
 
-        XYSeriesCollection dataset = new XYSeriesCollection(series);
         JFreeChart chart = ChartFactory.createXYLineChart(
-                "PV Frequency Spectrum",
+                "PV Power Spectral Density",
                 "Frequency (Hz)",
-                "Amplitude",
-                dataset,
+                "PSD (dB/Hz)",
+                new XYSeriesCollection(series),
                 PlotOrientation.VERTICAL,
                 false, true, false);
+        add(new ChartPanel(chart), BorderLayout.CENTER);
 
-        ChartPanel chartPanel = new ChartPanel(chart);
-        add(chartPanel, BorderLayout.CENTER);
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        controls.add(new JLabel("Segment length:"));
+        segmentBox.setSelectedItem(DEFAULT_SEGMENT_LENGTH);
+        segmentBox.addActionListener(e -> rebuildEstimator());
+        controls.add(segmentBox);
+        controls.add(statusLabel);
+        add(controls, BorderLayout.SOUTH);
     }
 
-    /**
-     * 准备FFT数据，确保长度为2的幂，并移除直流分量
-     * 
-     * @param originalData 原始数据列表
-     * @return 处理后的 double 数组
-     */
-    private double[] prepareDataForFFT(List<Double> originalData) {
-        if (originalData.size() < 16)
-            return null; // 至少需要一些数据点
+    private void rebuildEstimator() {
+        int segment = (Integer) segmentBox.getSelectedItem();
+        double sampleRate = 1.0 / dt;
+        if (runData != null) {
+            if (runData.size() < 16) {
+                statusLabel.setText("Not enough data for frequency analysis.");
+                return;
+            }
+            estimator = WelchSpectrumEstimator.of(runData, segment, sampleRate);
+        } else {
+            estimator = new WelchSpectrumEstimator(segment, sampleRate);
+        }
+        psd = new double[estimator.getBinCount()];
+        renderedSegments = -1;
+        refreshChart();
+    }
+
+    private void refreshChart() {
+        int segments = estimator.getSegmentCount();
+        if (segments == renderedSegments) {
+            return;
+        }
+        renderedSegments = segments;
+        SpectrumAnalysisEvent event = new SpectrumAnalysisEvent();
+        event.begin();
+        estimator.copyPsd(psd);
+        series.setNotify(false);
+        series.clear();
+        if (segments > 0) {
+            // Bin 0 is skipped: every segment is mean-removed, so DC carries no information
+            for (int k = 1; k < psd.length; k++) {
+                series.add(estimator.frequency(k), 10.0 * Math.log10(Math.max(psd[k], MIN_PSD)));
+            }
+        }
+        series.setNotify(true);
+        event.end();
+        if (event.shouldCommit()) {
+            event.samples = (int) Math.min(estimator.getSampleCount(), Integer.MAX_VALUE);
+            event.segmentLength = estimator.getSegmentLength();
+            event.segments = segments;
+            event.live = runData == null;
+            event.commit();
+        }
+        statusLabel.setText(segments > 0
+                ? String.format("%d segments averaged, resolution %.4f Hz", segments, estimator.frequency(1))
+                : String.format("Waiting for %d samples...", estimator.getSegmentLength()));
+    }
 
-        // 计算平均值 (直流分量)
-        double mean = originalData.stream().mapToDouble(d -> d).average().orElse(0.0);
+    @Override
+    public void accept(double time, double pv, double setpoint, double output) {
+        if (estimator != null) {
+            estimator.add(pv);
+        }
+    }
 
-        // 找到小于等于原始数据长度的最大的2的幂
-        int n = 1;
-        while (n <= originalData.size()) {
-            n <<= 1; // n = n * 2
+    @Override
+    public void onRunStart() {
+        // A live spectrum must not average segments from the previous run into the new one
+        if (runData == null && estimator != null) {
+            estimator.reset();
+            renderedSegments = -1;
+            refreshChart();
         }
-        n >>= 1; // n = n / 2
+    }
 
-        double[] data = new double[n];
-        for (int i = 0; i < n; i++) {
-            // 截取数据并移除直流分量
-            data[i] = originalData.get(originalData.size() - n + i) - mean;
+    @Override
+    public void onFrameEnd(int samplesInFrame) {
+        if (estimator != null) {
+            refreshChart();
         }
-        return data;
     }
 }
@@ -0,0 +1,185 @@
+package org.example.ui;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.GridLayout;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingWorker;
+import javax.swing.table.DefaultTableModel;
+
+import org.example.algorithm.ControlAlgorithm;
+import org.example.tuning.GridSweep;
+import org.example.tuning.ParameterRange;
+import org.example.tuning.SweepResult;
+
+/**
+ * 参数网格扫描对话框
+ */
+public class GridSweepDialog extends JDialog {
+    private static final int MAX_ROWS = 500;
+
+    private final ControlVisualizer owner;
+    private final ControlAlgorithm algorithm;
+    private final Map<String, JTextField[]> rangeFields = new LinkedHashMap<>();
+    private final JTextField durationField = new JTextField("20.0", 6);
+    private final DefaultTableModel tableModel;
+    private final JTable resultTable;
+    private final JLabel statusLabel = new JLabel("Ready");
+    private final JButton runButton = new JButton("Run Sweep");
+    private final JCheckBox fastBox = new JCheckBox("Fast LTI evaluation", false);
+    private List<SweepResult> results = List.of();
+
+    public GridSweepDialog(ControlVisualizer owner, ControlAlgorithm algorithm) {
+        super(owner, "Parameter Grid Sweep", false);
+        this.owner = owner;
+        this.algorithm = algorithm;
+        setSize(800, 500);
+        setLocationRelativeTo(owner);
+        setLayout(new BorderLayout());
+
+        String[] names = algorithm.getParameterNames();
+        Map<String, Double> current = algorithm.getCurrentParameters();
+        JPanel rangePanel = new JPanel(new GridLayout(names.length + 1, 4, 5, 5));
+        rangePanel.add(new JLabel("Parameter"));
+        rangePanel.add(new JLabel("Min"));
+        rangePanel.add(new JLabel("Max"));
+        rangePanel.add(new JLabel("Points"));
+        for (String name : names) {
+            double value = current.getOrDefault(name, 0.0);
+            JTextField[] fields = {
+                    new JTextField(String.format("%.3f", value * 0.5), 6),
+                    new JTextField(String.format("%.3f", value * 2.0), 6),
+                    new JTextField("10", 4) };
+            rangeFields.put(name, fields);
+            rangePanel.add(new JLabel(name + ":"));
+            for (JTextField field : fields) {
+                rangePanel.add(field);
+            }
+        }
+
+        JPanel configPanel = new JPanel(new BorderLayout());
+        configPanel.add(rangePanel, BorderLayout.CENTER);
+        JPanel runPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        runPanel.add(new JLabel("Duration (s):"));
+        runPanel.add(durationField);
+        fastBox.setToolTipText("Compute linear plant + PID responses from the transfer function instead of simulating");
+        runPanel.add(fastBox);
+        runButton.addActionListener(e -> runSweep());
+        runPanel.add(runButton);
+        runPanel.add(statusLabel);
+        configPanel.add(runPanel, BorderLayout.SOUTH);
+        add(configPanel, BorderLayout.NORTH);
+
+        List<String> columns = new ArrayList<>(List.of("Rank"));
+        columns.addAll(List.of(names));
+        columns.addAll(List.of("IAE", "Overshoot %", "Rise (s)", "Settling (s)", "Outcome"));
+        tableModel = new DefaultTableModel(columns.toArray(), 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        resultTable = new JTable(tableModel);
+        resultTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        add(new JScrollPane(resultTable), BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JButton applyButton = new JButton("Apply Selected");
+        applyButton.addActionListener(e -> applySelected());
+        buttonPanel.add(applyButton);
+        add(buttonPanel, BorderLayout.SOUTH);
+    }
+
+    private void runSweep() {
+        Map<String, ParameterRange> ranges = new LinkedHashMap<>();
+        double duration;
+        try {
+            for (Map.Entry<String, JTextField[]> entry : rangeFields.entrySet()) {
+                JTextField[] f = entry.getValue();
+                ranges.put(entry.getKey(), new ParameterRange(entry.getKey(),
+                        Double.parseDouble(f[0].getText()), Double.parseDouble(f[1].getText()),
+                        Integer.parseInt(f[2].getText())));
+            }
+            duration = Double.parseDouble(durationField.getText());
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid sweep range: " + ex.getMessage(), "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        Supplier<ControlAlgorithm> algorithmFactory = owner::createAlgorithmModel;
+        GridSweep sweep = new GridSweep(owner::createPlantModel, algorithmFactory, owner.getSimulationDt(), duration);
+        sweep.setSetpoint(owner.getSetpointProfile());
+        sweep.setFastEvaluation(fastBox.isSelected());
+        List<ParameterRange> grid = sweep.rangesFor(ranges);
+
+        runButton.setEnabled(false);
+        statusLabel.setText("Running...");
+        long start = System.nanoTime();
+        new SwingWorker<List<SweepResult>, Void>() {
+            @Override
+            protected List<SweepResult> doInBackground() {
+                return sweep.run(grid);
+            }
+
+            @Override
+            protected void done() {
+                runButton.setEnabled(true);
+                try {
+                    results = get();
+                } catch (Exception ex) {
+                    statusLabel.setText("Sweep failed: " + ex.getMessage());
+                    return;
+                }
+                long completed = results.stream().filter(SweepResult::isCompleted).count();
+                statusLabel.setText(String.format("%d candidates, %d completed, %.2f s",
+                        results.size(), completed, (System.nanoTime() - start) / 1e9));
+                fillTable();
+            }
+        }.execute();
+    }
+
+    private void fillTable() {
+        tableModel.setRowCount(0);
+        String[] names = algorithm.getParameterNames();
+        int rows = Math.min(results.size(), MAX_ROWS);
+        for (int i = 0; i < rows; i++) {
+            SweepResult r = results.get(i);
+            List<Object> row = new ArrayList<>();
+            row.add(i + 1);
+            for (String name : names) {
+                row.add(String.format("%.3f", r.parameters().get(name)));
+            }
+            row.add(String.format("%.3f", r.metrics().iae()));
+            row.add(String.format("%.2f", r.metrics().overshoot()));
+            row.add(String.format("%.2f", r.metrics().riseTime()));
+            row.add(String.format("%.2f", r.metrics().settlingTime()));
+            row.add(r.outcome());
+            tableModel.addRow(row.toArray());
+        }
+    }
+
+    private void applySelected() {
+        int row = resultTable.getSelectedRow();
+        if (row < 0 || row >= results.size()) {
+            return;
+        }
+        algorithm.setParameters(results.get(row).parameters());
+        owner.onParametersChanged();
+    }
+}
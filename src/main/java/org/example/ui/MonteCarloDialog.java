@@ -0,0 +1,184 @@
+package org.example.ui;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.GridLayout;
+import java.util.List;
+
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.SwingWorker;
+import javax.swing.table.DefaultTableModel;
+
+import org.example.analysis.Distribution;
+import org.example.analysis.MetricDistribution;
+import org.example.analysis.MonteCarloAnalysis;
+import org.example.analysis.MonteCarloResult;
+import org.example.analysis.UncertainParameter;
+
+/**
+ * 蒙特卡洛鲁棒性分析对话框
+ * 在被控对象增益与时间常数的扰动下评估当前控制器参数。
+ */
+public class MonteCarloDialog extends JDialog {
+    private static final double[] PERCENTILES = { 5, 25, 50, 75, 95 };
+
+    private enum Shape {
+        UNIFORM("Uniform ±"), NORMAL("Normal σ"), LOG_NORMAL("Log-normal σ");
+
+        private final String displayName;
+
+        Shape(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private final ControlVisualizer owner;
+    private final JTextField gainField = new JTextField("1.0", 6);
+    private final JTextField gainSpreadField = new JTextField("20", 4);
+    private final JComboBox<Shape> gainShapeBox = new JComboBox<>(Shape.values());
+    private final JTextField timeConstantField = new JTextField("1.0", 6);
+    private final JTextField timeConstantSpreadField = new JTextField("20", 4);
+    private final JComboBox<Shape> timeConstantShapeBox = new JComboBox<>(Shape.values());
+    private final JTextField samplesField = new JTextField("2000", 6);
+    private final JTextField seedField = new JTextField("42", 6);
+    private final JTextField durationField = new JTextField("20.0", 6);
+    private final DefaultTableModel tableModel;
+    private final JLabel statusLabel = new JLabel("Ready");
+    private final JButton runButton = new JButton("Run");
+
+    public MonteCarloDialog(ControlVisualizer owner) {
+        super(owner, "Monte Carlo Robustness", false);
+        this.owner = owner;
+        setSize(760, 360);
+        setLocationRelativeTo(owner);
+        setLayout(new BorderLayout());
+
+        JPanel plantPanel = new JPanel(new GridLayout(3, 4, 5, 5));
+        plantPanel.add(new JLabel("Parameter"));
+        plantPanel.add(new JLabel("Nominal"));
+        plantPanel.add(new JLabel("Distribution"));
+        plantPanel.add(new JLabel("Spread (%)"));
+        plantPanel.add(new JLabel("Gain K:"));
+        plantPanel.add(gainField);
+        plantPanel.add(gainShapeBox);
+        plantPanel.add(gainSpreadField);
+        plantPanel.add(new JLabel("Time Constant T:"));
+        plantPanel.add(timeConstantField);
+        plantPanel.add(timeConstantShapeBox);
+        plantPanel.add(timeConstantSpreadField);
+
+        JPanel configPanel = new JPanel(new BorderLayout());
+        configPanel.add(plantPanel, BorderLayout.CENTER);
+        JPanel runPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        runPanel.add(new JLabel("Samples:"));
+        runPanel.add(samplesField);
+        runPanel.add(new JLabel("Seed:"));
+        runPanel.add(seedField);
+        runPanel.add(new JLabel("Duration (s):"));
+        runPanel.add(durationField);
+        runButton.addActionListener(e -> runAnalysis());
+        runPanel.add(runButton);
+        runPanel.add(statusLabel);
+        configPanel.add(runPanel, BorderLayout.SOUTH);
+        add(configPanel, BorderLayout.NORTH);
+
+        Object[] columns = { "Metric", "Mean", "P5", "P25", "P50", "P75", "P95", "Max" };
+        tableModel = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        add(new JScrollPane(new JTable(tableModel)), BorderLayout.CENTER);
+    }
+
+    private void runAnalysis() {
+        List<UncertainParameter> parameters;
+        int samples;
+        long seed;
+        double duration;
+        try {
+            parameters = List.of(
+                    new UncertainParameter("K", distribution(gainField, gainSpreadField, gainShapeBox)),
+                    new UncertainParameter("T",
+                            distribution(timeConstantField, timeConstantSpreadField, timeConstantShapeBox)));
+            samples = Integer.parseInt(samplesField.getText());
+            seed = Long.parseLong(seedField.getText());
+            duration = Double.parseDouble(durationField.getText());
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid input: " + ex.getMessage(), "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        MonteCarloAnalysis analysis = new MonteCarloAnalysis(
+                values -> owner.createPlantModel(values[1], values[0]), parameters,
+                owner::createAlgorithmModel, owner.getSimulationDt(), duration);
+        analysis.setSetpoint(owner.getSetpointProfile());
+
+        runButton.setEnabled(false);
+        statusLabel.setText("Running...");
+        new SwingWorker<MonteCarloResult, Void>() {
+            @Override
+            protected MonteCarloResult doInBackground() {
+                return analysis.run(samples, seed);
+            }
+
+            @Override
+            protected void done() {
+                runButton.setEnabled(true);
+                MonteCarloResult result;
+                try {
+                    result = get();
+                } catch (Exception ex) {
+                    statusLabel.setText("Analysis failed: " + ex.getMessage());
+                    return;
+                }
+                statusLabel.setText(String.format("%d runs, %.1f%% unstable, %.2f s", result.getSampleCount(),
+                        result.getUnstableFraction() * 100, result.getElapsedNanos() / 1e9));
+                fillTable(result);
+            }
+        }.execute();
+    }
+
+    private static Distribution distribution(JTextField nominalField, JTextField spreadField,
+            JComboBox<Shape> shapeBox) {
+        double nominal = Double.parseDouble(nominalField.getText());
+        double spread = Double.parseDouble(spreadField.getText()) / 100.0;
+        switch ((Shape) shapeBox.getSelectedItem()) {
+            case NORMAL:
+                return Distribution.normal(nominal, Math.abs(nominal) * spread);
+            case LOG_NORMAL:
+                return Distribution.logNormal(nominal, spread);
+            default:
+                return Distribution.relativeUniform(nominal, spread);
+        }
+    }
+
+    private void fillTable(MonteCarloResult result) {
+        tableModel.setRowCount(0);
+        for (MetricDistribution metric : result.getMetricDistributions()) {
+            Object[] row = new Object[PERCENTILES.length + 3];
+            row[0] = metric.getName();
+            row[1] = String.format("%.3f", metric.getMean());
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                row[i + 2] = String.format("%.3f", metric.percentile(PERCENTILES[i]));
+            }
+            row[row.length - 1] = String.format("%.3f", metric.getMax());
+            tableModel.addRow(row);
+        }
+    }
+}
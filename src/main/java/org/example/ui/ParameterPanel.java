@@ -2,6 +2,7 @@ package org.example.ui;
 
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
+import java.awt.GridLayout;
 import java.awt.Insets;
 import java.util.HashMap;
 import java.util.Map;
@@ -11,9 +12,12 @@ import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 import org.example.algorithm.ControlAlgorithm;
 import org.example.algorithm.PIDController;
+import org.example.analysis.StabilityMargins;
 
 public class ParameterPanel extends JPanel {
     private final ControlVisualizer controlVisualizer;
@@ -22,6 +26,13 @@ public class ParameterPanel extends JPanel {
     private JTextField setpointField;
     private JButton autoTuneButton;
     private JButton applyButton;
+    private JPanel toolsPanel;
+    private JButton gridSweepButton;
+    private JButton paretoButton;
+    private JButton bayesianButton;
+    private JButton monteCarloButton;
+    private JButton bodeButton;
+    private final JLabel marginsLabel = new JLabel(" ");
 
     // --- NEW: JComboBox for tuning rules ---
     private JComboBox<PIDController.TuningRule> tuningRuleComboBox;
@@ -44,6 +55,7 @@ public class ParameterPanel extends JPanel {
         add(new JLabel("Setpoint:"), gbc);
         gbc.gridx = 1;
         setpointField = new JTextField("5.0", 10);
+        setpointField.getDocument().addDocumentListener(setpointUpdater);
         add(setpointField, gbc);
         y++;
 
@@ -74,6 +86,27 @@ public class ParameterPanel extends JPanel {
         autoTuneButton = new JButton("Start Auto-Tuning");
         autoTuneButton.addActionListener(e -> startAutoTuning());
         add(autoTuneButton, gbc);
+        y++;
+
+        // --- Offline tuning tools ---
+        gbc.gridy = y;
+        toolsPanel = new JPanel(new GridLayout(0, 1, 0, 5));
+        gridSweepButton = new JButton("Grid Sweep...");
+        gridSweepButton.addActionListener(e -> controlVisualizer.showGridSweep());
+        toolsPanel.add(gridSweepButton);
+        paretoButton = new JButton("Pareto Tuning...");
+        paretoButton.addActionListener(e -> controlVisualizer.showParetoTuning());
+        toolsPanel.add(paretoButton);
+        bayesianButton = new JButton("Bayesian Tuning...");
+        bayesianButton.addActionListener(e -> controlVisualizer.showBayesianTuning());
+        toolsPanel.add(bayesianButton);
+        monteCarloButton = new JButton("Monte Carlo...");
+        monteCarloButton.addActionListener(e -> controlVisualizer.showMonteCarlo());
+        toolsPanel.add(monteCarloButton);
+        bodeButton = new JButton("Bode Sweep...");
+        bodeButton.addActionListener(e -> controlVisualizer.showBodePlot());
+        toolsPanel.add(bodeButton);
+        add(toolsPanel, gbc);
     }
 
     public void setAlgorithm(ControlAlgorithm algorithm) {
@@ -100,15 +133,80 @@ public class ParameterPanel extends JPanel {
             add(new JLabel(paramName + ":"), gbc);
             gbc.gridx = 1;
             JTextField field = new JTextField(10);
+            field.getDocument().addDocumentListener(marginsUpdater);
             parameterFields.put(paramName, field);
             add(field, gbc);
             row++;
         }
+        // Live stability margins for the gains being typed, below the parameter fields
+        remove(marginsLabel);
+        gbc.gridx = 0;
+        gbc.gridy = row;
+        gbc.gridwidth = 2;
+        add(marginsLabel, gbc);
         updateParameterFields();
         revalidate();
         repaint();
     }
 
+    private final DocumentListener setpointUpdater = new DocumentListener() {
+        @Override
+        public void insertUpdate(DocumentEvent e) {
+            notifySetpoint();
+        }
+
+        @Override
+        public void removeUpdate(DocumentEvent e) {
+            notifySetpoint();
+        }
+
+        @Override
+        public void changedUpdate(DocumentEvent e) {
+            notifySetpoint();
+        }
+    };
+
+    private void notifySetpoint() {
+        if (controlVisualizer != null)
+            controlVisualizer.onSetpointChanged();
+    }
+
+    private final DocumentListener marginsUpdater = new DocumentListener() {
+        @Override
+        public void insertUpdate(DocumentEvent e) {
+            updateMargins();
+        }
+
+        @Override
+        public void removeUpdate(DocumentEvent e) {
+            updateMargins();
+        }
+
+        @Override
+        public void changedUpdate(DocumentEvent e) {
+            updateMargins();
+        }
+    };
+
+    /**
+     * Recomputes the analytical margins from the field contents; cheap enough to run on every keystroke.
+     */
+    private void updateMargins() {
+        if (controlVisualizer == null || !(algorithm instanceof PIDController))
+            return;
+        Map<String, Double> params = new HashMap<>(algorithm.getCurrentParameters());
+        for (Map.Entry<String, JTextField> entry : parameterFields.entrySet()) {
+            try {
+                params.put(entry.getKey(), Double.parseDouble(entry.getValue().getText()));
+            } catch (NumberFormatException ex) {
+                marginsLabel.setText(" ");
+                return;
+            }
+        }
+        StabilityMargins margins = controlVisualizer.analyzeMargins(params);
+        marginsLabel.setText(margins != null ? margins.toString() : "Margins: plant is not linear");
+    }
+
     // --- MODIFIED: Pass the selected rule to the visualizer ---
     private void startAutoTuning() {
         if (algorithm instanceof PIDController && controlVisualizer != null) {
@@ -162,5 +260,10 @@ public class ParameterPanel extends JPanel {
         autoTuneButton.setEnabled(enabled);
         applyButton.setEnabled(enabled);
         tuningRuleComboBox.setEnabled(enabled); // Also disable/enable the combo box
+        gridSweepButton.setEnabled(enabled);
+        paretoButton.setEnabled(enabled);
+        bayesianButton.setEnabled(enabled);
+        monteCarloButton.setEnabled(enabled);
+        bodeButton.setEnabled(enabled);
     }
 }
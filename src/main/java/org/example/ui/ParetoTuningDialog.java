@@ -0,0 +1,235 @@
+package org.example.ui;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.GridLayout;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSplitPane;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingWorker;
+import javax.swing.table.DefaultTableModel;
+
+import org.example.algorithm.ControlAlgorithm;
+import org.example.tuning.ParameterRange;
+import org.example.tuning.ParetoPoint;
+import org.example.tuning.ParetoTuner;
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+/**
+ * 多目标 Pareto 整定对话框
+ * 散点图显示前沿在任意两个目标上的投影, 表格中选中的点可直接应用到当前控制器。
+ */
+public class ParetoTuningDialog extends JDialog {
+    private final ControlVisualizer owner;
+    private final ControlAlgorithm algorithm;
+    private final Map<String, JTextField[]> boundFields = new LinkedHashMap<>();
+    private final JTextField populationField = new JTextField("100", 4);
+    private final JTextField generationsField = new JTextField("60", 4);
+    private final JTextField durationField = new JTextField("20.0", 6);
+    private final JComboBox<String> xObjectiveBox = new JComboBox<>(ParetoPoint.OBJECTIVE_NAMES);
+    private final JComboBox<String> yObjectiveBox = new JComboBox<>(ParetoPoint.OBJECTIVE_NAMES);
+    private final XYSeriesCollection frontDataset = new XYSeriesCollection();
+    private final JFreeChart chart;
+    private final DefaultTableModel tableModel;
+    private final JTable resultTable;
+    private final JLabel statusLabel = new JLabel("Ready");
+    private final JButton runButton = new JButton("Run");
+    private List<ParetoPoint> front = List.of();
+
+    public ParetoTuningDialog(ControlVisualizer owner, ControlAlgorithm algorithm) {
+        super(owner, "Pareto Tuning (NSGA-II)", false);
+        this.owner = owner;
+        this.algorithm = algorithm;
+        setSize(900, 650);
+        setLocationRelativeTo(owner);
+        setLayout(new BorderLayout());
+
+        String[] names = algorithm.getParameterNames();
+        Map<String, Double> current = algorithm.getCurrentParameters();
+        JPanel boundPanel = new JPanel(new GridLayout(names.length + 1, 3, 5, 5));
+        boundPanel.add(new JLabel("Parameter"));
+        boundPanel.add(new JLabel("Min"));
+        boundPanel.add(new JLabel("Max"));
+        for (String name : names) {
+            double value = current.getOrDefault(name, 0.0);
+            JTextField[] fields = {
+                    new JTextField("0.000", 6),
+                    new JTextField(String.format("%.3f", Math.max(value * 5.0, 1.0)), 6) };
+            boundFields.put(name, fields);
+            boundPanel.add(new JLabel(name + ":"));
+            boundPanel.add(fields[0]);
+            boundPanel.add(fields[1]);
+        }
+
+        JPanel configPanel = new JPanel(new BorderLayout());
+        configPanel.add(boundPanel, BorderLayout.CENTER);
+        JPanel runPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        runPanel.add(new JLabel("Population:"));
+        runPanel.add(populationField);
+        runPanel.add(new JLabel("Generations:"));
+        runPanel.add(generationsField);
+        runPanel.add(new JLabel("Duration (s):"));
+        runPanel.add(durationField);
+        runButton.addActionListener(e -> runTuning());
+        runPanel.add(runButton);
+        runPanel.add(statusLabel);
+        configPanel.add(runPanel, BorderLayout.SOUTH);
+        add(configPanel, BorderLayout.NORTH);
+
+        xObjectiveBox.setSelectedIndex(3);
+        yObjectiveBox.setSelectedIndex(2);
+        xObjectiveBox.addActionListener(e -> updateChart());
+        yObjectiveBox.addActionListener(e -> updateChart());
+        chart = ChartFactory.createScatterPlot("Pareto Front", "", "", frontDataset, PlotOrientation.VERTICAL,
+                false, true, false);
+        JPanel chartPanel = new JPanel(new BorderLayout());
+        JPanel axisPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        axisPanel.add(new JLabel("X:"));
+        axisPanel.add(xObjectiveBox);
+        axisPanel.add(new JLabel("Y:"));
+        axisPanel.add(yObjectiveBox);
+        chartPanel.add(axisPanel, BorderLayout.NORTH);
+        chartPanel.add(new ChartPanel(chart), BorderLayout.CENTER);
+
+        List<String> columns = new ArrayList<>(List.of(names));
+        columns.addAll(List.of(ParetoPoint.OBJECTIVE_NAMES));
+        tableModel = new DefaultTableModel(columns.toArray(), 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        resultTable = new JTable(tableModel);
+        resultTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT, chartPanel, new JScrollPane(resultTable));
+        split.setResizeWeight(0.6);
+        add(split, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JButton applyButton = new JButton("Apply Selected");
+        applyButton.addActionListener(e -> applySelected());
+        buttonPanel.add(applyButton);
+        add(buttonPanel, BorderLayout.SOUTH);
+        updateChart();
+    }
+
+    private void runTuning() {
+        Map<String, ParameterRange> bounds = new LinkedHashMap<>();
+        int population;
+        int generations;
+        double duration;
+        try {
+            for (Map.Entry<String, JTextField[]> entry : boundFields.entrySet()) {
+                JTextField[] f = entry.getValue();
+                bounds.put(entry.getKey(), new ParameterRange(entry.getKey(),
+                        Double.parseDouble(f[0].getText()), Double.parseDouble(f[1].getText()), 1));
+            }
+            population = Integer.parseInt(populationField.getText());
+            generations = Integer.parseInt(generationsField.getText());
+            duration = Double.parseDouble(durationField.getText());
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid tuning setup: " + ex.getMessage(), "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        ParetoTuner tuner = new ParetoTuner(owner::createPlantModel, owner::createAlgorithmModel,
+                owner.getSimulationDt(), duration);
+        tuner.setSetpoint(owner.getSetpointProfile());
+        try {
+            tuner.setPopulationSize(population);
+            tuner.setGenerations(generations);
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        List<ParameterRange> space = ParameterRange.forAlgorithm(owner.createAlgorithmModel(), bounds);
+
+        runButton.setEnabled(false);
+        statusLabel.setText("Running...");
+        long start = System.nanoTime();
+        new SwingWorker<List<ParetoPoint>, Integer>() {
+            @Override
+            protected List<ParetoPoint> doInBackground() {
+                tuner.setProgressListener(this::publish);
+                return tuner.run(space);
+            }
+
+            @Override
+            protected void process(List<Integer> chunks) {
+                statusLabel.setText(String.format("Generation %d of %d", chunks.get(chunks.size() - 1) + 1,
+                        generations));
+            }
+
+            @Override
+            protected void done() {
+                runButton.setEnabled(true);
+                try {
+                    front = get();
+                } catch (Exception ex) {
+                    statusLabel.setText("Tuning failed: " + ex.getMessage());
+                    return;
+                }
+                statusLabel.setText(String.format("%d points on the front, %.2f s", front.size(),
+                        (System.nanoTime() - start) / 1e9));
+                fillTable();
+                updateChart();
+            }
+        }.execute();
+    }
+
+    private void updateChart() {
+        int x = xObjectiveBox.getSelectedIndex();
+        int y = yObjectiveBox.getSelectedIndex();
+        XYSeries series = new XYSeries("Front", false, true);
+        for (ParetoPoint point : front) {
+            series.add(point.objective(x), point.objective(y));
+        }
+        frontDataset.removeAllSeries();
+        frontDataset.addSeries(series);
+        chart.getXYPlot().getDomainAxis().setLabel(ParetoPoint.OBJECTIVE_NAMES[x]);
+        chart.getXYPlot().getRangeAxis().setLabel(ParetoPoint.OBJECTIVE_NAMES[y]);
+    }
+
+    private void fillTable() {
+        tableModel.setRowCount(0);
+        String[] names = algorithm.getParameterNames();
+        for (ParetoPoint point : front) {
+            List<Object> row = new ArrayList<>();
+            for (String name : names) {
+                row.add(String.format("%.3f", point.parameters().get(name)));
+            }
+            for (int i = 0; i < ParetoPoint.OBJECTIVE_NAMES.length; i++) {
+                row.add(String.format("%.3f", point.objective(i)));
+            }
+            tableModel.addRow(row.toArray());
+        }
+    }
+
+    private void applySelected() {
+        int row = resultTable.getSelectedRow();
+        if (row < 0 || row >= front.size()) {
+            return;
+        }
+        algorithm.setParameters(front.get(row).parameters());
+        owner.onParametersChanged();
+    }
+}
@@ -10,6 +10,8 @@ import javax.swing.JPanel;
 import javax.swing.JProgressBar;
 import javax.swing.border.TitledBorder;
 
+import org.example.data.PerformanceMetrics;
+
 /**
  * 实时数据显示面板 (数字、光柱、状态)
  */
@@ -20,6 +22,7 @@ public class RealTimeDisplayPanel extends JPanel {
     private final JProgressBar pvBar;
     private final JProgressBar svBar;
     private final JProgressBar outBar;
+    private final JLabel metricsLabel;
     private final JLabel statusLabel;
 
     public RealTimeDisplayPanel() {
@@ -68,12 +71,20 @@ public class RealTimeDisplayPanel extends JPanel {
         gbc.weightx = 1.0;
         add(outBar, gbc);
 
+        // --- Live metrics ---
+        metricsLabel = new JLabel(" ");
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        gbc.gridwidth = 3;
+        gbc.weightx = 1.0;
+        add(metricsLabel, gbc);
+
         // --- Status ---
         statusLabel = new JLabel("Ready");
         statusLabel.setBorder(BorderFactory.createTitledBorder(null, "Status",
                 TitledBorder.LEFT, TitledBorder.TOP));
         gbc.gridx = 0;
-        gbc.gridy = 3;
+        gbc.gridy = 4;
         gbc.gridwidth = 3;
         gbc.weightx = 1.0;
         gbc.insets = new Insets(10, 0, 0, 0);
@@ -98,6 +109,20 @@ public class RealTimeDisplayPanel extends JPanel {
         outBar.setValue((int) out);
     }
 
+    /**
+     * 更新实时性能指标
+     *
+     * @param metrics 在线累加器, 为 null 时清空显示
+     */
+    public void updateMetrics(PerformanceMetrics metrics) {
+        if (metrics == null) {
+            metricsLabel.setText(" ");
+            return;
+        }
+        metricsLabel.setText(String.format("Rise: %.2f s   Overshoot: %.2f %%   Settling: %.2f s   IAE: %.3f",
+                metrics.riseTime(), metrics.overshoot(), metrics.settlingTime(), metrics.iae()));
+    }
+
     /**
      * 设置状态栏文本
      * 
@@ -0,0 +1,135 @@
+package org.example.ui;
+
+import org.jfree.data.DomainOrder;
+import org.jfree.data.xy.AbstractXYDataset;
+
+/**
+ * 实时曲线数据集
+ * 以仿真时间为横轴, 数据保存在固定容量的 double 环形缓冲区中, 旧数据被覆盖, 追加时不分配对象。
+ * 追加不会触发事件, 由调用者在一批数据之后调用 {@link #fireBatchChanged()} 统一通知图表。
+ */
+public class RingBufferXYDataset extends AbstractXYDataset {
+    private static final int SERIES = 3;
+
+    private final String[] seriesKeys;
+    private final double[] x;
+    private final double[][] y;
+    private final int capacity;
+    private int head = 0; // index of the oldest sample
+    private int count = 0;
+    private double visibleWindow;
+
+    /**
+     * @param capacity      maximum number of samples kept per series
+     * @param visibleWindow seconds of simulation time to expose, 0 to expose everything retained
+     */
+    public RingBufferXYDataset(int capacity, double visibleWindow, String pvKey, String setpointKey,
+            String outputKey) {
+        this.capacity = capacity;
+        this.visibleWindow = visibleWindow;
+        this.seriesKeys = new String[] { pvKey, setpointKey, outputKey };
+        this.x = new double[capacity];
+        this.y = new double[SERIES][capacity];
+    }
+
+    /**
+     * Appends one PV / setpoint / output sample without notifying listeners.
+     */
+    public void append(double time, double pv, double setpoint, double output) {
+        int index;
+        if (count < capacity) {
+            index = (head + count) % capacity;
+            count++;
+        } else {
+            index = head;
+            head = (head + 1) % capacity;
+        }
+        x[index] = time;
+        y[0][index] = pv;
+        y[1][index] = setpoint;
+        y[2][index] = output;
+        trimToWindow();
+    }
+
+    private void trimToWindow() {
+        if (visibleWindow <= 0 || count == 0) {
+            return;
+        }
+        double newest = x[(head + count - 1) % capacity];
+        while (count > 1 && newest - x[head] > visibleWindow) {
+            head = (head + 1) % capacity;
+            count--;
+        }
+    }
+
+    public void setVisibleWindow(double visibleWindow) {
+        this.visibleWindow = visibleWindow;
+        trimToWindow();
+        fireDatasetChanged();
+    }
+
+    public double getVisibleWindow() {
+        return visibleWindow;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void clear() {
+        head = 0;
+        count = 0;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Notifies listeners once for all samples appended since the previous notification.
+     */
+    public void fireBatchChanged() {
+        fireDatasetChanged();
+    }
+
+    private int physical(int item) {
+        return (head + item) % capacity;
+    }
+
+    @Override
+    public int getSeriesCount() {
+        return seriesKeys.length;
+    }
+
+    @Override
+    public Comparable<?> getSeriesKey(int series) {
+        return seriesKeys[series];
+    }
+
+    @Override
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+
+    @Override
+    public int getItemCount(int series) {
+        return count;
+    }
+
+    @Override
+    public double getXValue(int series, int item) {
+        return x[physical(item)];
+    }
+
+    @Override
+    public double getYValue(int series, int item) {
+        return y[series][physical(item)];
+    }
+
+    @Override
+    public Number getX(int series, int item) {
+        return getXValue(series, item);
+    }
+
+    @Override
+    public Number getY(int series, int item) {
+        return getYValue(series, item);
+    }
+}
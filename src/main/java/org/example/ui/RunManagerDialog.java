@@ -2,6 +2,7 @@ package org.example.ui;
 
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
+import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -20,7 +21,12 @@ import javax.swing.JTextArea;
 import javax.swing.ListSelectionModel;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
+import org.example.data.RunCatalog;
+import org.example.data.RunFile;
 import org.example.data.SimulationRun;
+import org.example.data.TrajectoryJsonAdapter;
+import org.example.data.TrajectoryView;
+import org.example.monitor.RunFileEvent;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -28,19 +34,24 @@ import com.google.gson.reflect.TypeToken;
 
 public class RunManagerDialog extends JDialog {
     private final ControlVisualizer owner;
-    private final DefaultListModel<SimulationRun> listModel;
-    private final JList<SimulationRun> runList;
+    private final RunCatalog catalog;
+    private final DefaultListModel<RunCatalog.Entry> listModel;
+    private final JList<RunCatalog.Entry> runList;
     private final JTextArea detailsArea;
+    private final FileNameExtensionFilter binaryFilter = new FileNameExtensionFilter("Run Library Files",
+            RunFile.EXTENSION);
+    private final FileNameExtensionFilter jsonFilter = new FileNameExtensionFilter("JSON Files", "json");
 
-    public RunManagerDialog(ControlVisualizer owner, List<SimulationRun> runs) {
+    public RunManagerDialog(ControlVisualizer owner, RunCatalog catalog) {
         super(owner, "Run Manager", true);
         this.owner = owner;
+        this.catalog = catalog;
         setSize(800, 500);
         setLocationRelativeTo(owner);
         setLayout(new BorderLayout());
 
         listModel = new DefaultListModel<>();
-        runs.forEach(listModel::addElement);
+        catalog.getEntries().forEach(listModel::addElement);
         runList = new JList<>(listModel);
         runList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         runList.addListSelectionListener(e -> updateDetails());
@@ -75,7 +86,7 @@ public class RunManagerDialog extends JDialog {
     }
 
     private void updateDetails() {
-        SimulationRun selected = runList.getSelectedValue();
+        RunCatalog.Entry selected = runList.getSelectedValue();
         if (selected == null) {
             detailsArea.setText("");
             return;
@@ -85,6 +96,7 @@ public class RunManagerDialog extends JDialog {
         sb.append(" ===== ").append(selected.getName()).append(" ===== ");
         sb.append("--- Parameters ---");
         selected.getParameters().forEach((key, value) -> sb.append(String.format("%s: %.3f ", key, value)));
+        sb.append(String.format("Samples: %d ", selected.getSampleCount()));
         sb.append(" --- Performance Metrics ---\n");
         sb.append(selected.getMetrics().toString());
 
@@ -92,57 +104,130 @@ public class RunManagerDialog extends JDialog {
     }
 
     private void displaySelectedRun() {
-        SimulationRun selected = runList.getSelectedValue();
+        RunCatalog.Entry selected = runList.getSelectedValue();
         if (selected != null) {
-            owner.getChartPanel().displayComparisonRun(selected);
+            try {
+                owner.getChartPanel().displayComparisonRun(selected.getName(), catalog.getTrajectory(selected));
+            } catch (IOException e) {
+                JOptionPane.showMessageDialog(this, "Error loading run data: " + e.getMessage(), "Error",
+                        JOptionPane.ERROR_MESSAGE);
+            }
         }
     }
 
     private void deleteSelectedRun() {
-        SimulationRun selected = runList.getSelectedValue();
+        RunCatalog.Entry selected = runList.getSelectedValue();
         if (selected != null) {
-            owner.getSavedRuns().remove(selected);
+            catalog.remove(selected);
             listModel.removeElement(selected);
         }
     }
 
     private void saveRunsToFile() {
-        JFileChooser chooser = new JFileChooser();
-        chooser.setDialogTitle("Save Runs to JSON File");
-        chooser.setFileFilter(new FileNameExtensionFilter("JSON Files", "json"));
+        JFileChooser chooser = createRunFileChooser("Save Runs to File");
         if (chooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
-            Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            try (FileWriter writer = new FileWriter(chooser.getSelectedFile())) {
-                gson.toJson(owner.getSavedRuns(), writer);
+            File file = chooser.getSelectedFile();
+            boolean json = chooser.getFileFilter() == jsonFilter || file.getName().toLowerCase().endsWith(".json");
+            if (!json && !RunFile.hasExtension(file.toPath())) {
+                file = new File(file.getPath() + "." + RunFile.EXTENSION);
+            }
+            RunFileEvent event = new RunFileEvent();
+            event.begin();
+            int runCount = 0;
+            boolean saved = false;
+            try {
+                List<SimulationRun> runs = catalog.toRuns();
+                runCount = runs.size();
+                if (json) {
+                    try (FileWriter writer = new FileWriter(file)) {
+                        createGson().toJson(runs, writer);
+                    }
+                } else {
+                    RunFile.write(file.toPath(), runs);
+                }
+                saved = true;
             } catch (IOException e) {
                 JOptionPane.showMessageDialog(this, "Error saving file: " + e.getMessage(), "Error",
                         JOptionPane.ERROR_MESSAGE);
+            } finally {
+                commitFileEvent(event, "save", file, json, runCount, saved);
             }
         }
     }
 
     private void loadRunsFromFile() {
-        JFileChooser chooser = new JFileChooser();
-        chooser.setDialogTitle("Load Runs from JSON File");
-        chooser.setFileFilter(new FileNameExtensionFilter("JSON Files", "json"));
+        JFileChooser chooser = createRunFileChooser("Load Runs from File");
         if (chooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
-            Gson gson = new Gson();
-
-            // ==================== THE FIX IS HERE ====================
-            // Use the fully qualified name to avoid ambiguity with java.awt.Window.Type
-            java.lang.reflect.Type runListType = new TypeToken<List<SimulationRun>>() {
-            }.getType();
-            // =========================================================
-
-            try (FileReader reader = new FileReader(chooser.getSelectedFile())) {
-                List<SimulationRun> loadedRuns = gson.fromJson(reader, runListType);
-                owner.setSavedRuns(loadedRuns);
+            File file = chooser.getSelectedFile();
+            RunFileEvent event = new RunFileEvent();
+            event.begin();
+            boolean loaded = false;
+            try {
+                if (RunFile.hasExtension(file.toPath())) {
+                    // Only the index is read; trajectories are loaded when a run is displayed
+                    catalog.replaceWithLibrary(file.toPath());
+                } else {
+                    // Use the fully qualified name to avoid ambiguity with java.awt.Window.Type
+                    java.lang.reflect.Type runListType = new TypeToken<List<SimulationRun>>() {
+                    }.getType();
+                    try (FileReader reader = new FileReader(file)) {
+                        List<SimulationRun> loadedRuns = createGson().fromJson(reader, runListType);
+                        // Gson returns null for an empty or "null" document and keeps null list elements
+                        if (loadedRuns == null) {
+                            throw new IOException("File contains no runs");
+                        }
+                        for (SimulationRun run : loadedRuns) {
+                            if (run == null || run.getData() == null) {
+                                throw new IOException("File contains a run without data");
+                            }
+                        }
+                        catalog.replaceWith(loadedRuns);
+                    }
+                }
+                loaded = true;
                 listModel.clear();
-                loadedRuns.forEach(listModel::addElement);
+                listModel.addAll(catalog.getEntries());
             } catch (IOException | com.google.gson.JsonSyntaxException e) {
                 JOptionPane.showMessageDialog(this, "Error loading or parsing file: " + e.getMessage(), "Error",
                         JOptionPane.ERROR_MESSAGE);
+            } finally {
+                commitFileEvent(event, "load", file, !RunFile.hasExtension(file.toPath()), catalog.size(), loaded);
             }
         }
     }
+
+    /**
+     * Ends {@code event} and commits it if JFR is recording it; the dialog itself is not included since
+     * the event begins after the file was chosen.
+     */
+    private static void commitFileEvent(RunFileEvent event, String operation, File file, boolean json, int runs,
+            boolean success) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.path = file.getPath();
+            event.format = json ? "json" : RunFile.EXTENSION;
+            event.runs = runs;
+            event.bytes = file.length();
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    private JFileChooser createRunFileChooser(String title) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle(title);
+        chooser.addChoosableFileFilter(binaryFilter);
+        chooser.addChoosableFileFilter(jsonFilter);
+        chooser.setFileFilter(binaryFilter);
+        return chooser;
+    }
+
+    /**
+     * JSON remains available for interchange with other tools; the binary format is the default.
+     */
+    private static Gson createGson() {
+        return new GsonBuilder().setPrettyPrinting()
+                .registerTypeHierarchyAdapter(TrajectoryView.class, new TrajectoryJsonAdapter()).create();
+    }
 }
@@ -0,0 +1,58 @@
+package org.example.ui;
+
+import org.example.data.TrajectoryView;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.xy.AbstractXYDataset;
+
+/**
+ * 将运行轨迹的 PV 列直接作为单条曲线提供给图表, 不复制数据
+ */
+public class TrajectoryXYDataset extends AbstractXYDataset {
+    private final String seriesKey;
+    private final TrajectoryView data;
+
+    public TrajectoryXYDataset(String seriesKey, TrajectoryView data) {
+        this.seriesKey = seriesKey;
+        this.data = data;
+    }
+
+    @Override
+    public int getSeriesCount() {
+        return 1;
+    }
+
+    @Override
+    public Comparable<?> getSeriesKey(int series) {
+        return seriesKey;
+    }
+
+    @Override
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+
+    @Override
+    public int getItemCount(int series) {
+        return data.size();
+    }
+
+    @Override
+    public double getXValue(int series, int item) {
+        return data.time(item);
+    }
+
+    @Override
+    public double getYValue(int series, int item) {
+        return data.pv(item);
+    }
+
+    @Override
+    public Number getX(int series, int item) {
+        return getXValue(series, item);
+    }
+
+    @Override
+    public Number getY(int series, int item) {
+        return getYValue(series, item);
+    }
+}